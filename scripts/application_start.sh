@@ -31,6 +31,7 @@ docker run -d \
   -p $PORT:8080 \
   -e JAVA_OPTS="-Xms128m -Xmx256m" \
   -e SPRING_PROFILES_ACTIVE="$SPRING_PROFILES_ACTIVE" \
+  -e APP_ID_NODE_ID="$NODE_ID" \
   -e SPRING_DATASOURCE_URL="$SPRING_DATASOURCE_URL" \
   -e SPRING_DATASOURCE_USERNAME="$SPRING_DATASOURCE_USERNAME" \
   -e SPRING_DATASOURCE_PASSWORD="$SPRING_DATASOURCE_PASSWORD" \
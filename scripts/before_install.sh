@@ -6,9 +6,11 @@ CURRENT=$(grep -oP 'http://\K(blue|green)' /home/ubuntu/nginx/conf.d/service-url
 if [ "$CURRENT" = "blue" ]; then
   TARGET=green
   PORT=8082
+  NODE_ID=2
 else
   TARGET=blue
   PORT=8081
+  NODE_ID=1
 fi
 
 echo "Current: $CURRENT, Target: $TARGET (port $PORT)"
@@ -17,6 +19,7 @@ echo "Current: $CURRENT, Target: $TARGET (port $PORT)"
 echo "CURRENT=$CURRENT" > /home/ubuntu/deploy-state.env
 echo "TARGET=$TARGET" >> /home/ubuntu/deploy-state.env
 echo "PORT=$PORT" >> /home/ubuntu/deploy-state.env
+echo "NODE_ID=$NODE_ID" >> /home/ubuntu/deploy-state.env
 
 # 배포 대상 컨테이너 정리
 docker stop $TARGET || true
@@ -3,9 +3,9 @@ set -e
 
 source /home/ubuntu/deploy-state.env
 
-# 헬스체크 (최대 240초)
+# 헬스체크 (최대 240초). readiness 는 캐시/JIT warm-up 이 끝난 뒤 UP
 for i in $(seq 1 24); do
-  STATUS=$(curl -sf http://localhost:$PORT/actuator/health | grep -c UP || true)
+  STATUS=$(curl -sf http://localhost:$PORT/actuator/health/readiness | grep -c UP || true)
   if [ "$STATUS" -ge 1 ]; then
     echo "Health check passed"
     break
@@ -1,8 +1,5 @@
 package com.commerce.admin.controller;
 
-import java.util.Set;
-
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,6 +8,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.commerce.common.support.ProductCachePolicy;
+import com.commerce.common.template.CacheTemplate;
+import com.commerce.product.service.StockReservationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,7 +18,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AdminController {
 
-	private final RedisTemplate<String, String> redisTemplate;
+	private final CacheTemplate cacheTemplate;
+	private final StockReservationService stockReservationService;
 
 	@GetMapping("/dashboard")
 	public String dashboard() {
@@ -31,19 +31,25 @@ public class AdminController {
 	public ResponseEntity<String> clearProductCache() {
 		int deleted = 0;
 
-		// Delete featured cache
-		Boolean featuredDeleted = redisTemplate.delete(ProductCachePolicy.FEATURED_KEY);
-		if (Boolean.TRUE.equals(featuredDeleted)) {
+		// Delete featured cache (L1 + Redis, 다른 노드의 L1 포함)
+		if (cacheTemplate.delete(ProductCachePolicy.FEATURED_KEY)) {
 			deleted++;
 		}
 
-		// Delete all popular caches (pattern: commerce:product:home:popular*)
-		Set<String> popularKeys = redisTemplate.keys(ProductCachePolicy.PREFIX_POPULAR_KEY + "*");
-		if (popularKeys != null && !popularKeys.isEmpty()) {
-			Long count = redisTemplate.delete(popularKeys);
-			deleted += count != null ? count.intValue() : 0;
+		// 인기, 상세 캐시는 세대만 올린다 (KEYS/SCAN 없이 INCR 한 번, 이전 세대는 TTL 또는 정리 작업으로 제거)
+		for (String namespace : ProductCachePolicy.NAMESPACES) {
+			cacheTemplate.bumpNamespace(namespace);
 		}
 
-		return ResponseEntity.ok("Deleted " + deleted + " cache entries");
+		return ResponseEntity.ok("Deleted " + deleted + " cache entries, invalidated "
+			+ ProductCachePolicy.NAMESPACES.size() + " namespaces");
+	}
+
+	// Redis 재고 예약 카운터 재구축 (다음 주문 때 DB 재고로 다시 적재)
+	@DeleteMapping("/stock/reservations")
+	@ResponseBody
+	public ResponseEntity<String> rebuildStockReservations() {
+		long deleted = stockReservationService.rebuild();
+		return ResponseEntity.ok("Deleted " + deleted + " stock reservation counters");
 	}
 }
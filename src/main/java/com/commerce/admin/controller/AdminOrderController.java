@@ -1,17 +1,27 @@
 package com.commerce.admin.controller;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.util.UriUtils;
 
 import com.commerce.order.domain.Orders;
@@ -19,8 +29,11 @@ import com.commerce.common.enums.OrderStatus;
 import com.commerce.admin.dto.AdminOrderListResponseDTO;
 import com.commerce.admin.dto.AdminOrderSearchCond;
 import com.commerce.order.dto.OrderMapper;
+import com.commerce.order.dto.OrderStatusChangeResult;
+import com.commerce.order.service.OrderExportService;
 import com.commerce.order.service.OrderService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +45,11 @@ public class AdminOrderController {
 
 	private final OrderService orderService;
 	private final OrderMapper orderMapper;
+	private final OrderExportService orderExportService;
+
+	private static final DateTimeFormatter EXPORT_FILENAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+	// 내보내기 응답이 끝날 때까지 기다리는 시간. 다른 비동기 요청은 기본 timeout 을 그대로 쓴다
+	private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
 
 	@GetMapping
 	public String orderList(AdminOrderSearchCond cond, @RequestParam(defaultValue = "0") int page, Model model) {
@@ -55,15 +73,42 @@ public class AdminOrderController {
 
 	@PostMapping("/status")
 	public String changeStatus(@RequestParam(value = "orderIds", required = false) List<Long> orderIds,
-							   @RequestParam(value = "status", required = false) OrderStatus status) {
+							   @RequestParam(value = "status", required = false) OrderStatus status,
+							   RedirectAttributes redirectAttributes) {
 		if (orderIds == null || orderIds.isEmpty() || status == null) {
 			return "redirect:/admin/orders";
 		}
-		orderService.changeStatus(orderIds, status);
+		OrderStatusChangeResult result = orderService.changeStatus(orderIds, status);
+		log.info("order status change => target={}, changed={}, skipped={}",
+			status, result.changedIds().size(), result.skipped().size());
 
+		redirectAttributes.addFlashAttribute("statusChangeResult", result);
 		return "redirect:/admin/orders";
 	}
 
+	/**
+	 * 검색 조건에 맞는 주문을 품목까지 파일로 내보낸다. (format=csv|ndjson)
+	 * DB 커서에서 읽는 대로 응답에 쓰므로 건수와 관계없이 메모리 사용이 일정하다.
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> export(AdminOrderSearchCond cond,
+														@RequestParam(defaultValue = "csv") String format,
+														HttpServletRequest request) {
+		OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+		log.info("order export => format={}, keyword={}, status={}, paymentType={}, start={}, end={}",
+			exportFormat, cond.getKeyword(), cond.getOrderStatus(), cond.getPaymentType(),
+			cond.getStartDate(), cond.getEndDate());
+
+		String filename = "orders-" + LocalDateTime.now().format(EXPORT_FILENAME_FORMAT) + "." + exportFormat.getExtension();
+		StreamingResponseBody body = out -> orderExportService.export(cond, exportFormat, out);
+		// 이 요청의 비동기 timeout 만 늘린다 (StreamingResponseBody 처리 시작 시 적용됨)
+		WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(EXPORT_TIMEOUT.toMillis());
+		return ResponseEntity.ok()
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+			.contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+			.body(body);
+	}
+
 	private static String buildQs(AdminOrderSearchCond cond) {
 		List<String> parts = new ArrayList<>();
 		if (cond.getKeyword() != null && !cond.getKeyword().isBlank()) {
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,10 +16,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.commerce.admin.domain.Admin;
 import com.commerce.product.domain.Product;
+import com.commerce.product.domain.ProductOption;
 import com.commerce.admin.dto.AdminProductListDTO;
 import com.commerce.product.dto.FeaturedItem;
 import com.commerce.product.dto.FeaturedUpdateForm;
@@ -26,6 +29,7 @@ import com.commerce.product.dto.ProductDTO;
 import com.commerce.product.dto.ProductResponseDTO;
 import com.commerce.product.dto.ProductMapper;
 import com.commerce.product.service.ProductService;
+import com.commerce.product.service.StockShardService;
 import com.commerce.common.util.SecurityUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -38,6 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 public class AdminProductController {
 
 	private final ProductService productService;
+	private final StockShardService stockShardService;
 	private final ProductMapper productMapper;
 	private final SecurityUtil securityUtil;
 
@@ -82,6 +87,7 @@ public class AdminProductController {
 	public String editPage(@PathVariable Long id, Model model) {
 		Product product = productService.findByIdWithOptions(id);
 		ProductResponseDTO dto = productMapper.toProductResponseDTO(product);
+		applyShardedStock(product, dto);
 		model.addAttribute("product", dto);
 		model.addAttribute("productId", id);
 
@@ -127,4 +133,45 @@ public class AdminProductController {
 
 		return "redirect:/admin/products";
 	}
+
+	// 재고 샤딩 (hot SKU). optionId 가 없으면 상품 재고, 이미 나뉘어 있으면 버킷 수 변경
+	@PostMapping("/{id}/stock-shards")
+	@ResponseBody
+	public ResponseEntity<String> shardStock(@PathVariable Long id,
+		@RequestParam(required = false) Long optionId,
+		@RequestParam(defaultValue = "8") int buckets) {
+		int stock = stockShardService.shard(id, optionId, buckets);
+		return ResponseEntity.ok("Sharded stock " + stock + " into " + buckets + " buckets");
+	}
+
+	// 버킷 간 재고 재분배
+	@PostMapping("/{id}/stock-shards/rebalance")
+	@ResponseBody
+	public ResponseEntity<String> rebalanceStock(@PathVariable Long id,
+		@RequestParam(required = false) Long optionId) {
+		int stock = stockShardService.rebalance(id, optionId);
+		return ResponseEntity.ok("Rebalanced stock " + stock);
+	}
+
+	// 재고 샤딩 해제
+	@PostMapping("/{id}/stock-shards/delete")
+	@ResponseBody
+	public ResponseEntity<String> unshardStock(@PathVariable Long id,
+		@RequestParam(required = false) Long optionId) {
+		int stock = stockShardService.unshard(id, optionId);
+		return ResponseEntity.ok("Merged stock " + stock + " back into a single row");
+	}
+
+	// 샤딩된 재고는 버킷 합으로 표시
+	private void applyShardedStock(Product product, ProductResponseDTO dto) {
+		if (product.isStockSharded()) {
+			dto.setStock(stockShardService.availableStock(product));
+		}
+		for (ProductOption option : product.getOptions()) {
+			if (!option.isStockSharded()) continue;
+			dto.getProductOptionDTOList().stream()
+				.filter(o -> option.getId().equals(o.getId()))
+				.forEach(o -> o.setStock(stockShardService.availableStock(option)));
+		}
+	}
 }
@@ -0,0 +1,21 @@
+package com.commerce.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.commerce.common.support.id.SnowflakeIdGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+	// 노드 ID 는 인스턴스마다 달라야 한다. 배포 스크립트에서 blue=1, green=2 로 지정
+	@Bean
+	public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.id.node-id:0}") long nodeId) {
+		log.info("Snowflake ID 생성기 node-id={}", nodeId);
+		return new SnowflakeIdGenerator(nodeId);
+	}
+}
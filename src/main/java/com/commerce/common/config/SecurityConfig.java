@@ -68,7 +68,7 @@ public class SecurityConfig {
 
 			.authorizeHttpRequests(auth -> auth
 				.requestMatchers("/", "/home", "/login/**", "/oauth2/**", "/uploads/**",
-					"/products/*", "/error/**", "/actuator/health", "/actuator/prometheus", "/images/**",
+					"/products/*", "/error/**", "/actuator/health/**", "/actuator/prometheus", "/images/**",
 						"/favicon.ico"
 				).permitAll()
 				.anyRequest().authenticated())
@@ -106,7 +106,7 @@ public class SecurityConfig {
 
 			.authorizeHttpRequests(auth -> auth
 				.requestMatchers("/", "/home", "/login/**", "/oauth2/**", "/uploads/**",
-					"/products/*", "/error/**", "/actuator/health", "/actuator/prometheus", "/images/**",
+					"/products/*", "/error/**", "/actuator/health/**", "/actuator/prometheus", "/images/**",
 						"/favicon.ico"
 				).permitAll()
 				.anyRequest().authenticated()
@@ -16,6 +16,9 @@ import java.util.List;
 @Slf4j
 public class HomeController {
 
+    public static final int HOME_PAGE_SIZE = 20;   // 홈 탭 상품 개수
+    public static final int POPULAR_DAYS = 30;     // 인기 탭 판매량 집계 기간
+
     private final ProductService productService;
 
     // 홈화면
@@ -23,10 +26,8 @@ public class HomeController {
     public String home(@RequestParam(defaultValue = "featured") String tab, Model model) {
 
         List<ProductHomeDTO> homeProducts;
-        int size = 20; // page size 개수
-
         switch(tab) {
-            case "popular" -> homeProducts = productService.findPopularProductHome(30, size);
+            case "popular" -> homeProducts = productService.findPopularProductHome(POPULAR_DAYS, HOME_PAGE_SIZE);
             case "featured" -> homeProducts = productService.findFeaturedProducts();
             default -> {
                 tab = "featured";
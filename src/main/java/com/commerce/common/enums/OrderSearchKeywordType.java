@@ -0,0 +1,34 @@
+package com.commerce.common.enums;
+
+import java.util.regex.Pattern;
+
+/**
+ * 관리자 주문 검색어 분류. 분류마다 다른 인덱스로 조회한다.
+ */
+public enum OrderSearchKeywordType {
+	ORDER_NUMBER,   // 주문번호 전체 (Snowflake 19자리, UUID 32자) -> order_number 유니크 인덱스
+	PHONE_SUFFIX,   // 숫자(하이픈 허용) 4 ~ 11자리 -> 수령인 전화번호 뒷자리 (뒤집은 번호 인덱스) + 주문번호/전화번호 full-text
+	TEXT;           // 그 외 -> 주문번호/전화번호/주문자 이름 ngram full-text
+
+	private static final Pattern SNOWFLAKE_NUMBER = Pattern.compile("\\d{19}");
+	private static final Pattern UUID_NUMBER = Pattern.compile("[0-9a-fA-F]{32}");
+	private static final Pattern PHONE = Pattern.compile("[\\d-]+");
+
+	public static OrderSearchKeywordType classify(String keyword) {
+		String k = keyword.trim();
+		if (SNOWFLAKE_NUMBER.matcher(k).matches() || UUID_NUMBER.matcher(k).matches()) {
+			return ORDER_NUMBER;
+		}
+		if (PHONE.matcher(k).matches()) {
+			int digits = digitsOf(k).length();
+			if (digits >= 4 && digits <= 11) {
+				return PHONE_SUFFIX;
+			}
+		}
+		return TEXT;
+	}
+
+	public static String digitsOf(String keyword) {
+		return keyword.replaceAll("\\D", "");
+	}
+}
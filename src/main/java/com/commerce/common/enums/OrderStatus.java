@@ -1,5 +1,11 @@
 package com.commerce.common.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
 	READY("결제 준비"),
 	PAYMENT_PENDING("결제 진행중"),
@@ -11,6 +17,21 @@ public enum OrderStatus {
 	REFUND_FAILED("환불실패"),
 	DELIVERED("배송완료");
 
+	/**
+	 * 관리자 일괄 상태 변경에서 허용하는 전이 (목표 상태 -> 가능한 현재 상태).
+	 * 결제/취소 흐름(재고, 환불이 따라오는 전이)은 결제 서비스에서만 바꾼다.
+	 * 결제 전 주문(READY)만 관리자가 바로 취소할 수 있다.
+	 */
+	private static final Map<OrderStatus, Set<OrderStatus>> ADMIN_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+	static {
+		ADMIN_TRANSITIONS.put(PAID, EnumSet.of(PREPARING));                 // 배송 준비 되돌리기
+		ADMIN_TRANSITIONS.put(PREPARING, EnumSet.of(PAID));
+		ADMIN_TRANSITIONS.put(SHIPPING, EnumSet.of(PAID, PREPARING));
+		ADMIN_TRANSITIONS.put(DELIVERED, EnumSet.of(SHIPPING));
+		ADMIN_TRANSITIONS.put(CANCELED, EnumSet.of(READY));
+	}
+
 	private final String text;
 
 	OrderStatus(String text) {
@@ -20,4 +41,9 @@ public enum OrderStatus {
 	public String getText() {
 		return text;
 	}
+
+	// 관리자가 이 상태로 바꿀 수 있는 현재 상태들. 없으면 빈 집합
+	public Set<OrderStatus> adminAllowedFrom() {
+		return Collections.unmodifiableSet(ADMIN_TRANSITIONS.getOrDefault(this, EnumSet.noneOf(OrderStatus.class)));
+	}
 }
@@ -0,0 +1,6 @@
+package com.commerce.common.enums;
+
+public enum StockShardType {
+	PRODUCT,	// product.stock 을 나눈 버킷
+	OPTION		// product_option.stock 을 나눈 버킷
+}
@@ -0,0 +1,40 @@
+package com.commerce.common.support;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 캐시 값과 메타데이터.
+ *
+ * @param value        캐시 값
+ * @param computedAt   loader 실행이 끝난 시각 (epoch ms)
+ * @param computeMs    loader 실행에 걸린 시간. 조기 갱신 확률 계산에 사용
+ * @param softExpireAt 논리 만료 시각 (epoch ms). 지나면 stale 로 보고 백그라운드에서 갱신한다
+ */
+public record CacheEntry<T>(T value, long computedAt, long computeMs, long softExpireAt) {
+
+    public static <T> CacheEntry<T> of(T value, long computeMs, Duration softTtl) {
+        long now = System.currentTimeMillis();
+        return new CacheEntry<>(value, now, computeMs, now + softTtl.toMillis());
+    }
+
+    /**
+     * envelope 없이 값만 저장된 이전 포맷. 메타데이터가 없으므로 논리 만료 없이 Redis TTL 까지 그대로 사용한다.
+     * 여기서 갱신해 envelope 으로 덮어쓰면 이전 버전 노드가 읽지 못하고 다시 지우기 때문이다
+     */
+    public static <T> CacheEntry<T> legacy(T value) {
+        return new CacheEntry<>(value, System.currentTimeMillis(), 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * XFetch 방식의 확률적 조기 갱신 여부.
+     * 논리 만료가 가까울수록, loader 가 오래 걸릴수록 갱신 확률이 높아지고 논리 만료가 지나면 항상 갱신한다.
+     */
+    public boolean shouldRefresh(long now, double beta) {
+        if (now >= softExpireAt) return true;
+
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double early = computeMs * beta * -Math.log(random);
+        return now + early >= softExpireAt;
+    }
+}
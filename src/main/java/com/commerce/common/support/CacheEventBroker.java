@@ -0,0 +1,151 @@
+package com.commerce.common.support;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.commerce.common.support.ProductCachePolicy.CACHE_INVALIDATION_CHANNEL;
+
+/**
+ * Redis pub/sub 으로 노드 간 L1 캐시 무효화를 전파한다.
+ *
+ * <p>blue/green 노드가 동시에 떠 있을 때, 한 노드에서 캐시를 지우면 다른 노드의 L1 도 함께 비운다.
+ * 또한 락 보유자가 캐시 적재를 마치면 {@code LOADED} 를 발행해, 다른 노드에서 락을 기다리던 스레드를
+ * sleep 없이 바로 깨운다.
+ * 메시지 형식은 {@code EVICT|node|key}, {@code EVICT_PREFIX|node|prefix}, {@code LOADED|node|key} 이다.
+ * 무효화는 발행 노드가 L1 을 직접 처리하므로, 자기가 보낸 무효화 메시지는 무시한다
+ * (갱신 후 발행한 무효화가 방금 적재한 L1 값을 지우지 않도록).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheEventBroker implements MessageListener {
+
+    private static final String EVICT = "EVICT";
+    private static final String EVICT_PREFIX = "EVICT_PREFIX";
+    private static final String LOADED = "LOADED";
+    private static final String DELIMITER = "|";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LocalCacheStore localCacheStore;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    // 자기가 발행한 메시지 구분용
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // key 별 적재 완료 대기자
+    private final ConcurrentMap<String, LoadedSignal> loadedSignals = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+    }
+
+    // 단건 무효화 전파
+    public void publishEvict(String cacheKey) {
+        publish(EVICT, cacheKey);
+    }
+
+    // prefix 무효화 전파
+    public void publishEvictByPrefix(String prefix) {
+        publish(EVICT_PREFIX, prefix);
+    }
+
+    // 적재 완료 전파
+    public void publishLoaded(String cacheKey) {
+        publish(LOADED, cacheKey);
+    }
+
+    /**
+     * key 의 적재 완료 신호. 같은 key 를 기다리는 스레드는 같은 future 를 공유한다.
+     * 락 보유자의 loader 가 실패하면 LOADED 가 오지 않으므로, 호출 측은 finally 에서 {@link #releaseLoadedSignal} 을 호출해야 한다
+     */
+    public CompletableFuture<Void> loadedSignal(String cacheKey) {
+        return loadedSignals.compute(cacheKey, (k, signal) -> {
+            LoadedSignal result = signal != null ? signal : new LoadedSignal();
+            result.waiters++;
+            return result;
+        }).future;
+    }
+
+    // 대기 종료. 마지막 대기자가 빠지면 신호를 제거한다 (LOADED 로 이미 제거되었거나 교체된 경우는 무시)
+    public void releaseLoadedSignal(String cacheKey, CompletableFuture<Void> future) {
+        loadedSignals.computeIfPresent(cacheKey, (k, signal) -> {
+            if (signal.future != future) return signal;
+            return --signal.waiters > 0 ? signal : null;
+        });
+    }
+
+    // 신호가 오거나 timeout 이 지날 때까지 대기
+    public void awaitLoaded(CompletableFuture<Void> signal, long timeoutMs) {
+        if (timeoutMs <= 0) return;
+        try {
+            signal.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // 락 만료 또는 신호 유실. 호출 측에서 캐시를 다시 확인한다
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int typeEnd = body.indexOf(DELIMITER);
+        int nodeEnd = typeEnd < 0 ? -1 : body.indexOf(DELIMITER, typeEnd + 1);
+        if (nodeEnd < 0) {
+            log.warn("알 수 없는 캐시 이벤트 무시. body={}", body);
+            return;
+        }
+
+        String type = body.substring(0, typeEnd);
+        boolean self = nodeId.equals(body.substring(typeEnd + 1, nodeEnd));
+        String target = body.substring(nodeEnd + 1);
+        switch (type) {
+            case EVICT -> {
+                if (!self) localCacheStore.evict(target);
+            }
+            case EVICT_PREFIX -> {
+                if (!self) localCacheStore.evictByPrefix(target);
+            }
+            case LOADED -> {
+                LoadedSignal signal = loadedSignals.remove(target);
+                if (signal != null) signal.future.complete(null);
+            }
+            default -> log.warn("알 수 없는 캐시 이벤트 무시. body={}", body);
+        }
+    }
+
+    private void publish(String type, String target) {
+        // Redis 장애 중에는 전파를 건너뛴다. 다른 노드의 L1 은 LOCAL_TTL 이 지나면 만료된다
+        if (circuitBreaker.isOpen()) return;
+        try {
+            redisTemplate.convertAndSend(CACHE_INVALIDATION_CHANNEL, type + DELIMITER + nodeId + DELIMITER + target);
+        } catch (Exception e) {
+            // 전파 실패 시 다른 노드의 L1 은 LOCAL_TTL 이 지나면 만료된다
+            log.warn("캐시 무효화 전파 실패. type={}, target={}", type, target, e);
+        }
+    }
+
+    // 대기자 수는 loadedSignals 의 compute 안에서만 바꾼다
+    private static final class LoadedSignal {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int waiters;
+    }
+}
@@ -0,0 +1,101 @@
+package com.commerce.common.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.commerce.common.support.ProductCachePolicy.*;
+
+/**
+ * 캐시 메트릭. 키 자체가 아닌 keyspace(featured, popular, detail ...) 로 태깅해 카디널리티를 낮게 유지한다.
+ * 미터는 (이름, keyspace, 태그값) 별로 한 번만 등록하고 재사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics {
+
+    public static final String RESULT_HIT_LOCAL = "hit_local";
+    public static final String RESULT_HIT_REDIS = "hit_redis";
+    public static final String RESULT_STALE = "stale";
+    public static final String RESULT_COALESCED = "coalesced";
+    public static final String RESULT_MISS = "miss";
+    public static final String RESULT_DEGRADED = "degraded";
+
+    private static final String UNKNOWN_KEYSPACE = "other";
+
+    // 먼저 일치하는 prefix 의 keyspace 사용 (구체적인 prefix 를 앞에 둔다)
+    private static final Map<String, String> KEYSPACES = new LinkedHashMap<>();
+    static {
+        KEYSPACES.put(FEATURED_KEY, "featured");
+        KEYSPACES.put(PREFIX_POPULAR_KEY, "popular");
+        KEYSPACES.put(PREFIX_DETAIL_KEY, "detail");
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public static String keyspace(String cacheKey) {
+        for (Map.Entry<String, String> entry : KEYSPACES.entrySet()) {
+            if (cacheKey.startsWith(entry.getKey())) return entry.getValue();
+        }
+        return UNKNOWN_KEYSPACE;
+    }
+
+    // 캐시 조회 결과 (hit_local, hit_redis, stale, coalesced, miss, degraded)
+    public void request(String cacheKey, String result) {
+        counter("app.cache.requests", keyspace(cacheKey), "result", result).increment();
+    }
+
+    // 분산 락 시도 결과
+    public void lockAttempt(String cacheKey, boolean acquired) {
+        counter("app.cache.lock.attempts", keyspace(cacheKey), "outcome", acquired ? "acquired" : "contended")
+                .increment();
+    }
+
+    // 락 대기 시간을 모두 소진하고 직접 조회한 경우
+    public void lockExhausted(String cacheKey) {
+        counter("app.cache.lock.exhausted", keyspace(cacheKey), null, null).increment();
+    }
+
+    public Timer loader(String cacheKey) {
+        String keyspace = keyspace(cacheKey);
+        return timers.computeIfAbsent(keyspace, ks -> Timer.builder("app.cache.loader")
+                .description("캐시 미스 시 loader 실행 시간")
+                .tag("keyspace", ks)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    // Redis 에 저장되는 직렬화 크기
+    public void payloadSize(String cacheKey, int bytes) {
+        String keyspace = keyspace(cacheKey);
+        summaries.computeIfAbsent(keyspace, ks -> DistributionSummary.builder("app.cache.payload.size")
+                        .baseUnit("bytes")
+                        .tag("keyspace", ks)
+                        .register(meterRegistry))
+                .record(bytes);
+    }
+
+    public void deserializeFailure(String cacheKey) {
+        counter("app.cache.deserialize.failures", keyspace(cacheKey), null, null).increment();
+    }
+
+    private Counter counter(String name, String keyspace, String tagKey, String tagValue) {
+        String id = name + '|' + keyspace + '|' + tagValue;
+        return counters.computeIfAbsent(id, k -> {
+            Counter.Builder builder = Counter.builder(name).tag("keyspace", keyspace);
+            if (tagKey != null) builder.tag(tagKey, tagValue);
+            return builder.register(meterRegistry);
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.commerce.common.support;
+
+import com.commerce.common.template.CacheTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.commerce.common.support.ProductCachePolicy.NAMESPACES;
+
+/**
+ * 세대가 바뀐 namespace 의 이전 세대 키를 SCAN 으로 찾아 지운다.
+ * TTL 로도 사라지지만, 무효화 직후 메모리를 빨리 돌려받기 위해 주기적으로 정리한다. 여러 노드 중 락을 잡은 하나만 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheNamespaceCleaner {
+
+    private static final String CLEAN_LOCK_KEY = "commerce:cache:generation:clean:lock";
+    private static final long CLEAN_LOCK_TTL_MS = 5 * 60 * 1000;
+
+    private final CacheTemplate cacheTemplate;
+    private final RedisCacheClient redisCacheClient;
+    private final RedisDistributedLockProvider distributedLockProvider;
+
+    @Scheduled(fixedDelayString = "${app.cache.namespace-clean-interval-ms:600000}",
+            initialDelayString = "${app.cache.namespace-clean-interval-ms:600000}")
+    public void clean() {
+        String token = distributedLockProvider.tryLock(CLEAN_LOCK_KEY, CLEAN_LOCK_TTL_MS);
+        if (token == null) return;
+
+        try {
+            for (String namespace : NAMESPACES) {
+                long generation = cacheTemplate.currentGeneration(namespace);
+                if (generation < 0) return;
+
+                String current = namespace + ":v" + generation + ":";
+                long deleted = redisCacheClient.deleteByPattern(namespace + ":v*", key -> !key.startsWith(current));
+                if (deleted > 0) {
+                    log.info("이전 세대 캐시 정리. namespace={}, generation={}, deleted={}", namespace, generation, deleted);
+                }
+            }
+        } finally {
+            distributedLockProvider.unlock(CLEAN_LOCK_KEY, token);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.commerce.common.support;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.commerce.common.support.ProductCachePolicy.LOCAL_MAX_SIZE;
+import static com.commerce.common.support.ProductCachePolicy.LOCAL_TTL;
+
+/**
+ * 프로세스 내부 L1 캐시.
+ *
+ * <p>Redis(L2) 앞단에서 역직렬화된 객체를 그대로 보관한다. 크기({@code LOCAL_MAX_SIZE})와
+ * TTL({@code LOCAL_TTL}) 모두 제한되며, 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거한다(LRU).
+ * 저장된 값은 여러 요청이 공유하므로 호출 측에서 수정하면 안 된다.
+ */
+@Component
+public class LocalCacheStore {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > LOCAL_MAX_SIZE;
+        }
+    };
+
+    // 캐시 읽기, 만료된 항목은 제거
+    public synchronized Optional<Object> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return Optional.empty();
+
+        if (entry.expireAtNanos() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    // 캐시 쓰기, TTL 은 LOCAL_TTL 을 넘지 않는다
+    public synchronized void put(String key, Object value, Duration ttl) {
+        long ttlNanos = Math.min(ttl.toNanos(), LOCAL_TTL.toNanos());
+        entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void evict(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized void evictByPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Object value, long expireAtNanos) {}
+}
@@ -1,22 +1,43 @@
 package com.commerce.common.support;
 
 import java.time.Duration;
+import java.util.List;
 
 public final class ProductCachePolicy {
     private ProductCachePolicy() {}
 
-    public static final String FEATURED_KEY = "commerce:product:home:featured";
-    public static final String PREFIX_POPULAR_KEY = "commerce:product:home:popular";              //  POPULAR_KEY + ":days" + days + ":top" + limit;
+    // 이전 빌드는 같은 키에 헤더/envelope 없는 JSON 을 쓰고, 읽지 못한 값은 지운다. blue/green 중 서로 지우지 않도록 키를 나눈다
+    public static final String FEATURED_KEY = "commerce:product:home:featured:v2";
+    public static final String PREFIX_POPULAR_KEY = "commerce:product:home:popular";              //  POPULAR_KEY + ":v" + 세대 + ":days" + days + ":top" + limit;
     public static final String FEATURED_LOCK_KEY = "commerce:product:home:featured:lock";
     public static final String PREFIX_POPULAR_LOCK_KEY = "commerce:product:home:popular:lock";
+    public static final String PREFIX_DETAIL_KEY = "commerce:product:detail";                     //  DETAIL_KEY + ":v" + 세대 + ":" + productId
+    public static final String PREFIX_DETAIL_LOCK_KEY = "commerce:product:detail-lock";
+
+    // 세대(namespace version) 로 관리하는 keyspace. 세대를 올리면(INCR) 기존 키는 더 이상 조회되지 않고 TTL 로 사라진다
+    public static final String PREFIX_CACHE_GENERATION_KEY = "commerce:cache:generation";        //  + ":" + namespace
+    public static final List<String> NAMESPACES = List.of(PREFIX_POPULAR_KEY, PREFIX_DETAIL_KEY);
 
     public static final Duration FEATURED_TTL = Duration.ofDays(7);
     public static final Duration POPULAR_TTL  = Duration.ofHours(1);
+    public static final Duration DETAIL_TTL   = Duration.ofMinutes(30);
     public static final Duration NULL_TTL     = Duration.ofMinutes(2);
 
+    // 논리 만료(soft TTL) 이후 stale 값을 내려주며 백그라운드 갱신을 기다리는 기간
+    public static final Duration FEATURED_STALE_TTL = Duration.ofDays(1);
+    public static final Duration POPULAR_STALE_TTL  = Duration.ofHours(1);
+    public static final double XFETCH_BETA = 1.0;
+
     public static final long FEATURED_LOCK_TTL_MS = 400;         // 이름도 명확히
     public static final long POPULAR_LOCK_TTL_MS = 500;         // 이름도 명확히
+    public static final long DETAIL_LOCK_TTL_MS = 300;
     public static final int MAX_RETRY = 40;
-    public static final long RETRY_DELAY_MS = 15;
     public static final long RETRY_JITTER_MS = 15;
+    public static final long LOCK_WAIT_MS = 1_500;          // 락 대기 최대 시간, 넘으면 직접 조회
+    public static final int DEGRADED_MAX_CONCURRENCY = 8;   // Redis 장애 시 노드당 DB 직접 조회 동시 실행 수
+
+    // L1(프로세스 내부) 캐시
+    public static final Duration LOCAL_TTL = Duration.ofSeconds(30);
+    public static final int LOCAL_MAX_SIZE = 1_000;
+    public static final String CACHE_INVALIDATION_CHANNEL = "commerce:cache:invalidation";
 }
@@ -1,34 +1,110 @@
 package com.commerce.common.support;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.commerce.common.support.codec.CacheValueSerializer;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RedisCacheClient {
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final CacheValueSerializer valueSerializer;
     private final ObjectMapper objectMapper;
+    private final CacheMetrics cacheMetrics;
+    private final RedisCircuitBreaker circuitBreaker;
 
     // 캐시 읽기
     public <T> Optional<T> get(String cacheKey, TypeReference<T> typeRef) {
-        String serialized = redisTemplate.opsForValue().get(cacheKey);
+        return read(cacheKey, objectMapper.getTypeFactory().constructType(typeRef));
+    }
+
+    /**
+     * 메타데이터 포함 캐시 읽기.
+     * envelope 없이 값만 저장된 이전 포맷은 지우지 않고 값 타입으로 읽어 {@link CacheEntry#legacy} 로 감싼다
+     */
+    public <T> Optional<CacheEntry<T>> getEntry(String cacheKey, TypeReference<T> valueType) {
+        byte[] serialized = fetch(cacheKey);
+        if (serialized == null) return Optional.empty();
+
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        JavaType valueJavaType = typeFactory.constructType(valueType);
+        JavaType entryType = typeFactory.constructParametricType(CacheEntry.class, valueJavaType);
+        try {
+            CacheEntry<T> entry = valueSerializer.deserialize(serialized, entryType);
+            // 알 수 없는 필드를 무시하므로 이전 포맷 객체도 빈 envelope 으로 읽힌다. computedAt 이 없으면 이전 포맷
+            if (entry.computedAt() > 0) return Optional.of(entry);
+        } catch (IOException e) {
+            log.debug("envelope 이 아닌 캐시 값. cacheKey={}", cacheKey);
+        }
+        return this.<T>deserialize(cacheKey, serialized, valueJavaType).map(CacheEntry::legacy);
+    }
+
+    // 여러 키 한 번에 읽기 (MGET). 없는 키는 결과에서 빠진다
+    public <T> Map<String, T> getAll(List<String> cacheKeys, TypeReference<T> typeRef) {
+        return readAll(cacheKeys, objectMapper.getTypeFactory().constructType(typeRef));
+    }
+
+    private <T> Optional<T> read(String cacheKey, JavaType type) {
+        byte[] serialized = fetch(cacheKey);
         if (serialized == null) return Optional.empty();
+        return deserialize(cacheKey, serialized, type);
+    }
+
+    private byte[] fetch(String cacheKey) {
+        return circuitBreaker.call(() -> binaryRedisTemplate.opsForValue().get(cacheKey), () -> null);
+    }
+
+    private <T> Map<String, T> readAll(List<String> cacheKeys, JavaType type) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (cacheKeys.isEmpty()) return result;
+
+        List<byte[]> values = circuitBreaker.call(() -> binaryRedisTemplate.opsForValue().multiGet(cacheKeys),
+                () -> null);
+        if (values == null) return result;
+
+        for (int i = 0; i < cacheKeys.size(); i++) {
+            byte[] serialized = values.get(i);
+            if (serialized == null) continue;
+
+            String cacheKey = cacheKeys.get(i);
+            this.<T>deserialize(cacheKey, serialized, type).ifPresent(value -> result.put(cacheKey, value));
+        }
+        return result;
+    }
 
+    private <T> Optional<T> deserialize(String cacheKey, byte[] serialized, JavaType type) {
         try {
-            return Optional.of(objectMapper.readValue(serialized, typeRef));
-        } catch (JsonProcessingException e) {
+            return Optional.of(valueSerializer.deserialize(serialized, type));
+        } catch (IOException e) {
             log.warn("캐시 역직렬화 실패. cacheKey={}, 캐시 삭제", cacheKey, e);
-            redisTemplate.delete(cacheKey);
+            cacheMetrics.deserializeFailure(cacheKey);
+            circuitBreaker.run(() -> redisTemplate.delete(cacheKey));
             return Optional.empty();
         }
     }
@@ -37,15 +113,103 @@ public class RedisCacheClient {
     public void set(String cacheKey, Object value, Duration ttl) {
         try {
             Duration jitterTtl = jitterTtl(ttl);
-            redisTemplate.opsForValue().set(cacheKey, objectMapper.writeValueAsString(value), jitterTtl);
-        } catch (JsonProcessingException ex) {
+            byte[] payload = valueSerializer.serialize(value);
+            cacheMetrics.payloadSize(cacheKey, payload.length);
+            circuitBreaker.run(() -> binaryRedisTemplate.opsForValue().set(cacheKey, payload, jitterTtl));
+        } catch (IOException ex) {
             log.warn("fallback 캐시 저장 실패. cacheKey={}", cacheKey, ex);
         }
     }
 
+    // 여러 키 한 번에 쓰기. 파이프라인으로 한 번의 왕복에 SET ... PX 를 보낸다 (키마다 jitter 적용)
+    public void setAll(Map<String, ?> values, Duration ttl) {
+        if (values.isEmpty()) return;
+
+        List<byte[]> keys = new ArrayList<>(values.size());
+        List<byte[]> payloads = new ArrayList<>(values.size());
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            try {
+                byte[] payload = valueSerializer.serialize(entry.getValue());
+                cacheMetrics.payloadSize(entry.getKey(), payload.length);
+                payloads.add(payload);
+                keys.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                log.warn("fallback 캐시 저장 실패. cacheKey={}", entry.getKey(), ex);
+            }
+        }
+
+        circuitBreaker.run(() -> binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                connection.stringCommands().set(keys.get(i), payloads.get(i),
+                        Expiration.from(jitterTtl(ttl)), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        }));
+    }
+
     // 캐시 삭제
-    public void delete(String cacheKey) {
-        redisTemplate.delete(cacheKey);
+    public boolean delete(String cacheKey) {
+        return circuitBreaker.call(() -> Boolean.TRUE.equals(redisTemplate.delete(cacheKey)), () -> false);
+    }
+
+    // prefix 로 시작하는 캐시 삭제
+    public long deleteByPrefix(String prefix) {
+        return deleteByPattern(prefix + "*", key -> true);
+    }
+
+    /**
+     * SCAN 으로 pattern 에 맞는 키를 훑으면서 filter 를 통과한 키를 UNLINK 한다.
+     * KEYS 와 달리 Redis 를 오래 막지 않는다. 삭제한 키 개수 반환
+     */
+    public long deleteByPattern(String pattern, Predicate<String> filter) {
+        return circuitBreaker.call(() -> {
+            long deleted = 0;
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    if (!filter.test(key)) continue;
+
+                    batch.add(key);
+                    if (batch.size() >= SCAN_BATCH_SIZE) {
+                        deleted += unlink(batch);
+                    }
+                }
+            }
+            return deleted + unlink(batch);
+        }, () -> 0L);
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) return 0;
+        Long count = redisTemplate.unlink(keys);
+        keys.clear();
+        return count != null ? count : 0;
+    }
+
+    /**
+     * namespace 의 현재 세대. 없으면 현재 시각(ms)으로 시작해 Redis 데이터가 유실되어도 이전 세대 번호를 재사용하지 않는다.
+     * Redis 를 사용할 수 없으면 -1
+     */
+    public long getGeneration(String generationKey) {
+        return circuitBreaker.call(() -> {
+            String value = redisTemplate.opsForValue().get(generationKey);
+            if (value == null) {
+                redisTemplate.opsForValue().setIfAbsent(generationKey, String.valueOf(System.currentTimeMillis()));
+                value = redisTemplate.opsForValue().get(generationKey);
+            }
+            return value != null ? Long.parseLong(value) : -1L;
+        }, () -> -1L);
+    }
+
+    // 세대 증가 (INCR). Redis 를 사용할 수 없으면 -1
+    public long incrementGeneration(String generationKey) {
+        return circuitBreaker.call(() -> {
+            redisTemplate.opsForValue().setIfAbsent(generationKey, String.valueOf(System.currentTimeMillis()));
+            Long generation = redisTemplate.opsForValue().increment(generationKey);
+            return generation != null ? generation : -1L;
+        }, () -> -1L);
     }
 
     // apply jitter
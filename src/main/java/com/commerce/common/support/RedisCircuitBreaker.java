@@ -0,0 +1,132 @@
+package com.commerce.common.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Redis 호출용 서킷 브레이커.
+ *
+ * <p>연속 실패가 {@code failure-threshold} 에 도달하면 OPEN 으로 바뀌어 {@code open-duration-ms} 동안
+ * Redis 를 호출하지 않고 바로 fallback 을 반환한다. 이후 HALF_OPEN 에서 요청 하나만 Redis 로 보내
+ * 성공하면 CLOSED, 실패하면 다시 OPEN 이 된다.
+ * Redis 연결/타임아웃 오류({@link DataAccessException})만 실패로 센다. 그 외 예외는 호출자에게 그대로 던지며,
+ * probe 중이었다면 HALF_OPEN 에 머물지 않도록 다시 OPEN 으로 돌린다.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @Value("${app.cache.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.cache.circuit.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public RedisCircuitBreaker(MeterRegistry meterRegistry) {
+        Gauge.builder("app.cache.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+    }
+
+    /**
+     * action 을 실행한다. 서킷이 열려 있거나 Redis 오류가 나면 fallback 값을 반환한다.
+     */
+    public <T> T call(Supplier<T> action, Supplier<T> fallback) {
+        if (!tryAcquire()) return fallback.get();
+
+        boolean recorded = false;
+        try {
+            T result = action.get();
+            onSuccess();
+            recorded = true;
+            return result;
+        } catch (DataAccessException e) {
+            onFailure(e);
+            recorded = true;
+            return fallback.get();
+        } finally {
+            // Redis 오류가 아닌 예외는 그대로 던지되, probe 였다면 HALF_OPEN 에 묶이지 않도록 다시 OPEN 으로 돌린다
+            if (!recorded) {
+                releaseProbe();
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        }, () -> null);
+    }
+
+    // Redis 를 건너뛰어야 하는 상태인지 (OPEN 이면서 probe 시점 전, 또는 probe 진행 중)
+    public boolean isOpen() {
+        State current = state.get();
+        if (current == State.CLOSED) return false;
+        if (current == State.HALF_OPEN) return true;
+        return System.currentTimeMillis() - openedAt.get() < openDurationMs;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) return true;
+        if (current == State.HALF_OPEN) return false;
+
+        // OPEN: 대기 시간이 지나면 한 요청만 probe 로 보낸다
+        if (System.currentTimeMillis() - openedAt.get() < openDurationMs) return false;
+        return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("Redis circuit closed");
+        }
+    }
+
+    private void onFailure(DataAccessException e) {
+        if (state.get() == State.HALF_OPEN) {
+            open(e);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == State.CLOSED) {
+            open(e);
+        } else {
+            log.debug("Redis call failed ({} consecutive)", consecutiveFailures.get(), e);
+        }
+    }
+
+    private void releaseProbe() {
+        if (state.get() == State.HALF_OPEN) {
+            openedAt.set(System.currentTimeMillis());
+            if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+                log.warn("Redis circuit probe failed with non-Redis error, reopened for {}ms", openDurationMs);
+            }
+        }
+    }
+
+    private void open(DataAccessException e) {
+        openedAt.set(System.currentTimeMillis());
+        state.set(State.OPEN);
+        log.warn("Redis circuit opened for {}ms: {}", openDurationMs, e.getMessage());
+    }
+}
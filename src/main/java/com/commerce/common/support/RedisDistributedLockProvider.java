@@ -13,6 +13,7 @@ import java.util.concurrent.TimeUnit;
 public class RedisDistributedLockProvider {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
     private static final DefaultRedisScript<Long> UNLOCK_SCRIPT;
     static {
         UNLOCK_SCRIPT = new DefaultRedisScript<>();
@@ -25,11 +26,25 @@ public class RedisDistributedLockProvider {
         );
         UNLOCK_SCRIPT.setResultType(Long.class);
     }
+    private static final DefaultRedisScript<Long> EXTEND_SCRIPT;
+    static {
+        EXTEND_SCRIPT = new DefaultRedisScript<>();
+        EXTEND_SCRIPT.setScriptText(
+                "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                        "  return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                        "else " +
+                        "  return 0 " +
+                        "end"
+        );
+        EXTEND_SCRIPT.setResultType(Long.class);
+    }
 
-    // 분산 락 가져오기
+    // 분산 락 가져오기, Redis 장애 시 획득 실패로 본다
     public String tryLock(String key, long timeoutMs) {
         String token = java.util.UUID.randomUUID().toString();
-        Boolean success = redisTemplate.opsForValue().setIfAbsent(key, token, timeoutMs, TimeUnit.MILLISECONDS);
+        Boolean success = circuitBreaker.call(
+                () -> redisTemplate.opsForValue().setIfAbsent(key, token, timeoutMs, TimeUnit.MILLISECONDS),
+                () -> false);
 
         if (Boolean.TRUE.equals(success)) {
             return token;
@@ -41,11 +56,21 @@ public class RedisDistributedLockProvider {
     // 락 해제, 소유권 검증
     public boolean unlock(String key, String token) {
 
-        Long res = redisTemplate.execute(
+        Long res = circuitBreaker.call(() -> redisTemplate.execute(
                 UNLOCK_SCRIPT,
                 List.of(key),
                 token
-        );
+        ), () -> null);
+        return res != null && res == 1L;
+    }
+
+    // 락 TTL 연장 (오래 걸리는 작업용), 소유권 검증
+    public boolean extend(String key, String token, long timeoutMs) {
+        Long res = circuitBreaker.call(() -> redisTemplate.execute(
+                EXTEND_SCRIPT,
+                List.of(key),
+                token, String.valueOf(timeoutMs)
+        ), () -> null);
         return res != null && res == 1L;
     }
 }
@@ -0,0 +1,157 @@
+package com.commerce.common.support;
+
+import com.commerce.common.controller.HomeController;
+import com.commerce.product.dto.ProductHomeDTO;
+import com.commerce.product.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 배포 직후 첫 트래픽의 지연을 줄이기 위한 warm-up.
+ *
+ * <p>ApplicationRunner 는 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 실행되므로, 이 작업이 끝나거나
+ * {@code app.warmup.timeout-ms} 가 지날 때까지 {@code /actuator/health/readiness} 는 DOWN 으로 남는다.
+ * validate_service.sh 는 readiness 가 UP 이 된 뒤에 nginx 를 전환한다.
+ * 순서: DB 커넥션 → 홈/인기/상세 캐시 적재 → 실제 HTTP 요청 반복(JIT, Thymeleaf 템플릿 캐시).
+ * 실패해도 기동은 계속한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final ProductService productService;
+    private final DataSource dataSource;
+    private final Environment environment;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @Value("${app.warmup.db-connections:10}")
+    private int dbConnections;
+
+    @Value("${app.warmup.detail-top-n:20}")
+    private int detailTopN;
+
+    @Value("${app.warmup.http-iterations:30}")
+    private int httpIterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            executor.submit(this::warmUp).get(timeoutMs, TimeUnit.MILLISECONDS);
+            log.info("warm-up 완료. elapsedMs={}", System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("warm-up 시간 초과, 트래픽 수신 시작. timeoutMs={}", timeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("warm-up 실패, 트래픽 수신 시작", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUp() {
+        touchConnectionPool();
+        List<Long> productIds = warmCaches();
+        warmHttpPaths(productIds);
+    }
+
+    // 커넥션을 동시에 빌려 풀을 미리 채운다
+    private void touchConnectionPool() {
+        try (ExecutorService pool = Executors.newFixedThreadPool(dbConnections)) {
+            for (int i = 0; i < dbConnections; i++) {
+                pool.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.isValid(1);
+                    } catch (Exception e) {
+                        log.debug("warm-up 커넥션 획득 실패", e);
+                    }
+                });
+            }
+        }
+    }
+
+    // 홈(추천/인기) 캐시와 노출 상품의 상세 캐시 적재. 상세를 적재한 상품 id 반환
+    private List<Long> warmCaches() {
+        Set<Long> productIds = new LinkedHashSet<>();
+        List<ProductHomeDTO> popular = productService.findPopularProductHome(
+                HomeController.POPULAR_DAYS, HomeController.HOME_PAGE_SIZE);
+        popular.forEach(dto -> productIds.add(dto.getId()));
+        productService.findFeaturedProducts().forEach(dto -> productIds.add(dto.getId()));
+
+        List<Long> warmed = new ArrayList<>();
+        for (Long id : productIds) {
+            if (warmed.size() >= detailTopN) break;
+            try {
+                productService.getProductDetail(id);
+                warmed.add(id);
+            } catch (Exception e) {
+                log.debug("warm-up 상품 상세 적재 실패. productId={}", id, e);
+            }
+        }
+        return warmed;
+    }
+
+    // 실제 요청 경로(필터, 컨트롤러, 템플릿 렌더링)를 반복 호출해 JIT 컴파일을 유도
+    private void warmHttpPaths(List<Long> productIds) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) return;
+
+        String baseUrl = "http://localhost:" + port;
+        List<String> paths = new ArrayList<>(List.of("/", "/?tab=popular"));
+        productIds.stream().limit(5).forEach(id -> paths.add("/products/" + id));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        for (int i = 0; i < httpIterations; i++) {
+            for (String path : paths) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(5))
+                        .GET()
+                        .build();
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.debug("warm-up 요청 실패. path={}", path, e);
+                }
+            }
+        }
+    }
+}
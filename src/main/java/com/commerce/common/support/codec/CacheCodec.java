@@ -0,0 +1,21 @@
+package com.commerce.common.support.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+
+/**
+ * 캐시 값 직렬화 방식.
+ *
+ * <p>{@link #id()} 는 Redis 에 저장되는 헤더에 기록되므로, 한 번 배포된 값은 바꾸면 안 된다.
+ */
+public interface CacheCodec {
+
+	byte id();
+
+	String name();
+
+	byte[] encode(Object value) throws IOException;
+
+	<T> T decode(byte[] payload, JavaType type) throws IOException;
+}
@@ -0,0 +1,145 @@
+package com.commerce.common.support.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 캐시 값을 헤더와 함께 byte[] 로 변환한다.
+ *
+ * <pre>
+ * [MAGIC][FORMAT_VERSION][codec id][flags] payload...
+ * </pre>
+ *
+ * <p>읽을 때는 헤더의 codec id 로 codec 을 고르므로, blue/green 배포 중 두 노드의 쓰기 codec 이 달라도
+ * 서로의 값을 읽을 수 있다. 헤더가 없는 값은 이전 버전이 쓴 JSON 문자열로 보고 {@link JsonCacheCodec} 으로 읽는다.
+ * 반대로 헤더를 모르는 이전 빌드는 이 값을 읽지 못하므로 이전 빌드와 같은 키를 쓰지 않는다 ({@link com.commerce.common.support.ProductCachePolicy}).
+ * payload 가 {@code compressThresholdBytes} 이상이면 deflate 로 압축하고 flags 에 표시한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheValueSerializer {
+
+	static final byte MAGIC = (byte)0xCA;
+	static final byte FORMAT_VERSION = 1;
+	static final byte FLAG_DEFLATE = 0x01;
+	private static final int HEADER_SIZE = 4;
+
+	private final List<CacheCodec> codecs;
+	private final JsonCacheCodec jsonCacheCodec;
+
+	@Value("${app.cache.codec:json}")
+	private String writeCodecName;
+
+	@Value("${app.cache.compress-threshold-bytes:4096}")
+	private int compressThresholdBytes;
+
+	private final CacheCodec[] codecById = new CacheCodec[Byte.MAX_VALUE + 1];
+	private CacheCodec writeCodec;
+
+	@PostConstruct
+	void init() {
+		for (CacheCodec codec : codecs) {
+			if (codecById[codec.id()] != null) {
+				throw new IllegalStateException("duplicate cache codec id: " + codec.id());
+			}
+			codecById[codec.id()] = codec;
+			if (codec.name().equals(writeCodecName)) {
+				writeCodec = codec;
+			}
+		}
+		if (writeCodec == null) {
+			throw new IllegalStateException("unknown cache codec: " + writeCodecName);
+		}
+	}
+
+	public byte[] serialize(Object value) throws IOException {
+		byte[] payload = writeCodec.encode(value);
+
+		byte flags = 0;
+		if (payload.length >= compressThresholdBytes) {
+			payload = deflate(payload);
+			flags |= FLAG_DEFLATE;
+		}
+
+		byte[] result = new byte[HEADER_SIZE + payload.length];
+		result[0] = MAGIC;
+		result[1] = FORMAT_VERSION;
+		result[2] = writeCodec.id();
+		result[3] = flags;
+		System.arraycopy(payload, 0, result, HEADER_SIZE, payload.length);
+		return result;
+	}
+
+	public <T> T deserialize(byte[] bytes, JavaType type) throws IOException {
+		// 헤더 없는 이전 버전 JSON 값
+		if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC) {
+			return jsonCacheCodec.decode(bytes, type);
+		}
+		if (bytes[1] != FORMAT_VERSION) {
+			throw new IOException("unsupported cache format version: " + bytes[1]);
+		}
+
+		byte id = bytes[2];
+		CacheCodec codec = id >= 0 ? codecById[id] : null;
+		if (codec == null) {
+			throw new IOException("unknown cache codec id: " + id);
+		}
+
+		byte[] payload = new byte[bytes.length - HEADER_SIZE];
+		System.arraycopy(bytes, HEADER_SIZE, payload, 0, payload.length);
+		if ((bytes[3] & FLAG_DEFLATE) != 0) {
+			payload = inflate(payload);
+		}
+		return codec.decode(payload, type);
+	}
+
+	private static byte[] deflate(byte[] input) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(input);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+			byte[] buffer = new byte[4096];
+			while (!deflater.finished()) {
+				int n = deflater.deflate(buffer);
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] input) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+			byte[] buffer = new byte[4096];
+			while (!inflater.finished()) {
+				int n = inflater.inflate(buffer);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("truncated compressed cache value");
+				}
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new IOException("invalid compressed cache value", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.commerce.common.support.codec;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+// 기존 JSON 문자열 포맷. 헤더가 없는 이전 버전 값도 이 codec 으로 읽는다
+@Component
+@RequiredArgsConstructor
+public class JsonCacheCodec implements CacheCodec {
+
+	public static final byte ID = 1;
+
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public byte id() {
+		return ID;
+	}
+
+	@Override
+	public String name() {
+		return "json";
+	}
+
+	@Override
+	public byte[] encode(Object value) throws IOException {
+		return objectMapper.writeValueAsBytes(value);
+	}
+
+	@Override
+	public <T> T decode(byte[] payload, JavaType type) throws IOException {
+		return objectMapper.readValue(payload, type);
+	}
+}
@@ -0,0 +1,51 @@
+package com.commerce.common.support.codec;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+
+/**
+ * Jackson Smile(바이너리 JSON) 포맷.
+ *
+ * <p>스프링 ObjectMapper 설정(JavaTimeModule 등)을 그대로 복사해 사용하므로 DTO 매핑 규칙은 JSON 과 같다.
+ * 반복되는 필드 이름을 back-reference 로 저장해 리스트 캐시의 크기와 파싱 비용이 줄어든다.
+ */
+@Component
+public class SmileCacheCodec implements CacheCodec {
+
+	public static final byte ID = 2;
+
+	private final ObjectMapper smileMapper;
+
+	public SmileCacheCodec(ObjectMapper objectMapper) {
+		SmileFactory smileFactory = SmileFactory.builder()
+			.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+			.build();
+		this.smileMapper = objectMapper.copyWith(smileFactory);
+	}
+
+	@Override
+	public byte id() {
+		return ID;
+	}
+
+	@Override
+	public String name() {
+		return "smile";
+	}
+
+	@Override
+	public byte[] encode(Object value) throws IOException {
+		return smileMapper.writeValueAsBytes(value);
+	}
+
+	@Override
+	public <T> T decode(byte[] payload, JavaType type) throws IOException {
+		return smileMapper.readValue(payload, type);
+	}
+}
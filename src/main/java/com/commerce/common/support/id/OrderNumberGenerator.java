@@ -0,0 +1,38 @@
+package com.commerce.common.support.id;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문번호 생성. {@code app.order.number.strategy} (snowflake | uuid) 로 방식을 고른다.
+ *
+ * <p>이미 발급된 주문번호는 형식과 관계없이 그대로 조회되므로 배포 중 두 방식이 섞여도 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNumberGenerator {
+
+	private final List<OrderNumberStrategy> strategies;
+
+	@Value("${app.order.number.strategy:snowflake}")
+	private String strategyName;
+
+	private OrderNumberStrategy strategy;
+
+	@PostConstruct
+	void init() {
+		strategy = strategies.stream()
+			.filter(s -> s.name().equals(strategyName))
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("unknown order number strategy: " + strategyName));
+	}
+
+	public String next() {
+		return strategy.next();
+	}
+}
@@ -0,0 +1,13 @@
+package com.commerce.common.support.id;
+
+/**
+ * 주문번호 생성 방식. {@code app.order.number.strategy} 와 {@link #name()} 이 같은 구현을 사용한다.
+ *
+ * <p>주문번호는 토스 orderId 로도 쓰이므로 영문, 숫자, '-', '_' 로 6 ~ 64 자여야 한다.
+ */
+public interface OrderNumberStrategy {
+
+	String name();
+
+	String next();
+}
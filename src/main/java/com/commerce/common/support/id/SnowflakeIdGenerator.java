@@ -0,0 +1,93 @@
+package com.commerce.common.support.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순으로 증가하는 64bit ID 생성기 (Snowflake).
+ *
+ * <pre>
+ * [0][timestamp 41bit][node 10bit][sequence 12bit]
+ * </pre>
+ *
+ * <p>timestamp 는 {@link #EPOCH} 이후 경과 ms. 같은 ms 안에서는 sequence 로 4096 개까지 만들고,
+ * 넘으면 다음 ms 까지 기다린다. node 는 인스턴스마다 달라야 한다 (blue/green 이 동시에 떠 있어도 겹치지 않도록).
+ * 시계가 {@link #MAX_BACKWARD_MS} 이내로 되돌아가면 따라잡을 때까지 기다리고, 그 이상이면 예외를 던진다.
+ */
+public class SnowflakeIdGenerator {
+
+	public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+	static final int NODE_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
+	public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+	private static final long MAX_BACKWARD_MS = 10;
+
+	private final long nodeId;
+	private final LongSupplier clock;
+
+	private long lastMillis = -1;
+	private long sequence;
+
+	public SnowflakeIdGenerator(long nodeId) {
+		this(nodeId, System::currentTimeMillis);
+	}
+
+	public SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("node id 는 0 ~ " + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.clock = clock;
+	}
+
+	public synchronized long nextId() {
+		long now = clock.getAsLong();
+
+		if (now < lastMillis) {
+			long backward = lastMillis - now;
+			if (backward > MAX_BACKWARD_MS) {
+				throw new IllegalStateException("시계가 " + backward + "ms 뒤로 이동해 ID 를 만들 수 없습니다.");
+			}
+			now = waitUntil(lastMillis);
+		}
+
+		if (now == lastMillis) {
+			sequence = (sequence + 1) & SEQUENCE_MASK;
+			if (sequence == 0) {
+				// 이번 ms 의 sequence 소진
+				now = waitUntil(lastMillis + 1);
+			}
+		} else {
+			sequence = 0;
+		}
+		lastMillis = now;
+
+		return ((now - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+			| (nodeId << SEQUENCE_BITS)
+			| sequence;
+	}
+
+	public long nodeId() {
+		return nodeId;
+	}
+
+	// ID 에 담긴 생성 시각
+	public static long timestampOf(long id) {
+		return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+	}
+
+	public static long nodeIdOf(long id) {
+		return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+	}
+
+	private long waitUntil(long targetMillis) {
+		long now = clock.getAsLong();
+		while (now < targetMillis) {
+			Thread.onSpinWait();
+			now = clock.getAsLong();
+		}
+		return now;
+	}
+}
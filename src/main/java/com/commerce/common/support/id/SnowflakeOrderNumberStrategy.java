@@ -0,0 +1,26 @@
+package com.commerce.common.support.id;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Snowflake ID 를 19자리로 0을 채운 10진 문자열. 문자열 정렬이 생성 순서와 같아
+ * order_number 유니크 인덱스에 항상 오른쪽 끝으로 삽입된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SnowflakeOrderNumberStrategy implements OrderNumberStrategy {
+
+	private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+	@Override
+	public String name() {
+		return "snowflake";
+	}
+
+	@Override
+	public String next() {
+		return String.format("%019d", snowflakeIdGenerator.nextId());
+	}
+}
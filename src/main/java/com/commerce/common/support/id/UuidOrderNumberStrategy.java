@@ -0,0 +1,22 @@
+package com.commerce.common.support.id;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 방식. 하이픈을 뺀 랜덤 UUID 32자.
+ */
+@Component
+public class UuidOrderNumberStrategy implements OrderNumberStrategy {
+
+	@Override
+	public String name() {
+		return "uuid";
+	}
+
+	@Override
+	public String next() {
+		return UUID.randomUUID().toString().replace("-", "");
+	}
+}
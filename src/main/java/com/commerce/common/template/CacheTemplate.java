@@ -1,17 +1,33 @@
 package com.commerce.common.template;
 
+import com.commerce.common.exception.BusinessException;
+import com.commerce.common.support.CacheEntry;
+import com.commerce.common.support.CacheEventBroker;
+import com.commerce.common.support.CacheMetrics;
+import com.commerce.common.support.LocalCacheStore;
 import com.commerce.common.support.RedisCacheClient;
+import com.commerce.common.support.RedisCircuitBreaker;
 import com.commerce.common.support.RedisDistributedLockProvider;
 import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -24,80 +40,340 @@ public class CacheTemplate {
 
     private final RedisCacheClient redisCacheClient;
     private final RedisDistributedLockProvider distributedLockProvider;
+    private final LocalCacheStore localCacheStore;
+    private final CacheEventBroker cacheEventBroker;
+    private final CacheMetrics cacheMetrics;
+    private final RedisCircuitBreaker circuitBreaker;
 
-    public <T> List<T> execute(String cacheKey, String lockKey, long lockTtlMs,
-                               Duration ttl, TypeReference<List<T>> typeRef,
-                               Supplier<List<T>> loader) {
+    // key 별 진행 중인 조회. 같은 노드에서는 한 스레드만 Redis/loader 에 접근한다 (single-flight)
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
 
-        List<T> result = null;
+    // key 별 마지막 백그라운드 갱신 시도 시각. 다른 노드가 갱신 중일 때 락 시도가 반복되지 않도록 한다
+    private final ConcurrentMap<String, Long> refreshAttempts = new ConcurrentHashMap<>();
 
-        // 1. 캐시 조회
-        Optional<List<T>> optional = redisCacheClient.get(cacheKey, typeRef);
+    // L1 에 세대를 보관할 때 붙이는 접미사. namespace prefix 무효화 시 함께 지워진다
+    private static final String GENERATION_LOCAL_SUFFIX = ":gen";
 
-        // 2. 캐시 미스인 경우 db 조회
-        if (optional.isEmpty()) {
+    // Redis 장애 중 DB 직접 조회 동시 실행 수 제한
+    private final Semaphore degradedLoadPermits = new Semaphore(DEGRADED_MAX_CONCURRENCY);
 
-            for (int i = 0; i < MAX_RETRY; i++) {
-                String token = distributedLockProvider.tryLock(lockKey, lockTtlMs);
+    // stale 값 갱신 전용 스레드. 큐가 가득 차면 이번 갱신은 건너뛴다 (사용자 요청을 막지 않음)
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(
+            1, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
+            r -> {
+                Thread thread = new Thread(r, "cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
 
-                // 락 가져오기 실패 시 재시도
+    /**
+     * L1(로컬) → L2(Redis) → loader 순으로 조회한다. ttl 이 지나면 만료되고, 다음 요청이 loader 를 기다린다.
+     * loader 가 null 이나 빈 컬렉션을 반환하면 NULL_TTL 동안만 캐시한다.
+     * 반환된 값은 L1 에서 여러 요청이 공유하므로 수정하면 안 된다.
+     */
+    public <T> T execute(String cacheKey, String lockKey, long lockTtlMs,
+                         Duration ttl, TypeReference<T> typeRef,
+                         Supplier<T> loader) {
+        return fetch(new CacheRequest<>(cacheKey, lockKey, lockTtlMs, ttl, ttl, false, typeRef, loader));
+    }
+
+    /**
+     * {@link #execute} 와 같으나 softTtl 이후에도 staleTtl 동안은 기존 값을 바로 반환하고,
+     * 갱신은 백그라운드에서 한 번만 수행한다 (stale-while-revalidate).
+     * softTtl 에 가까워지면 XFetch 방식으로 확률적으로 미리 갱신한다.
+     * 키가 한 번 적재된 뒤에는 사용자 요청이 loader 를 기다리지 않는다.
+     */
+    public <T> T executeWithRefresh(String cacheKey, String lockKey, long lockTtlMs,
+                                    Duration softTtl, Duration staleTtl, TypeReference<T> typeRef,
+                                    Supplier<T> loader) {
+        return fetch(new CacheRequest<>(cacheKey, lockKey, lockTtlMs, softTtl, softTtl.plus(staleTtl), true,
+                typeRef, loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fetch(CacheRequest<T> req) {
+
+        // 0. L1 캐시 조회
+        Optional<Object> local = localCacheStore.get(req.cacheKey());
+        if (local.isPresent()) {
+            CacheEntry<T> entry = (CacheEntry<T>) local.get();
+            recordHit(req, entry, CacheMetrics.RESULT_HIT_LOCAL);
+            refreshIfNeeded(req, entry);
+            return entry.value();
+        }
+
+        // 1. 같은 key 를 조회 중인 스레드가 있으면 그 결과를 기다린다
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(req.cacheKey(), flight);
+        if (existing != null) {
+            cacheMetrics.request(req.cacheKey(), CacheMetrics.RESULT_COALESCED);
+            return ((CacheEntry<T>) await(existing)).value();
+        }
+
+        try {
+            CacheEntry<T> entry = load(req);
+            flight.complete(entry);
+            refreshIfNeeded(req, entry);
+            return entry.value();
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(req.cacheKey(), flight);
+        }
+    }
+
+    private <T> CacheEntry<T> load(CacheRequest<T> req) {
+
+        // Redis 장애 중이면 Redis 와 락을 건너뛰고 DB 에서 직접 조회
+        if (circuitBreaker.isOpen()) {
+            return loadDegraded(req);
+        }
+
+        // 2. 캐시 조회
+        Optional<CacheEntry<T>> optional = redisCacheClient.getEntry(req.cacheKey(), req.typeRef());
+        if (optional.isPresent()) {
+            log.debug("cache hit key={}", req.cacheKey());
+            recordHit(req, optional.get(), CacheMetrics.RESULT_HIT_REDIS);
+            return putLocal(req, optional.get());
+        }
+        cacheMetrics.request(req.cacheKey(), CacheMetrics.RESULT_MISS);
+
+        // 3. 캐시 미스인 경우 락을 잡고 db 조회
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MS;
+        for (int i = 0; i < MAX_RETRY && System.currentTimeMillis() < deadline; i++) {
+            // 락 해제 후 발행되는 적재 완료 신호를 놓치지 않도록 락 시도 전에 등록
+            CompletableFuture<Void> loaded = cacheEventBroker.loadedSignal(req.cacheKey());
+            try {
+                String token = distributedLockProvider.tryLock(req.lockKey(), req.lockTtlMs());
+                cacheMetrics.lockAttempt(req.cacheKey(), token != null);
+
+                // 락 가져오기 실패 시 락 보유자의 적재 완료 신호(또는 락 만료)까지 대기 후 캐시 재확인
                 if (token == null) {
+                    if (circuitBreaker.isOpen()) {
+                        return loadDegraded(req);
+                    }
                     long jitter = ThreadLocalRandom.current().nextLong(RETRY_JITTER_MS);
-                    sleep(jitter);
+                    long remaining = deadline - System.currentTimeMillis();
+                    cacheEventBroker.awaitLoaded(loaded, Math.min(req.lockTtlMs() + jitter, remaining));
+
+                    Optional<CacheEntry<T>> again = redisCacheClient.getEntry(req.cacheKey(), req.typeRef());
+                    if (again.isPresent()) {
+                        return putLocal(req, again.get());
+                    }
                     continue;
                 }
+
                 // 락 획득한 경우 캐시 다시 확인
+                boolean stored = false;
                 try {
-                    Optional<List<T>> again =
-                            redisCacheClient.get(cacheKey, typeRef);
+                    Optional<CacheEntry<T>> again = redisCacheClient.getEntry(req.cacheKey(), req.typeRef());
                     if (again.isPresent()) {
-                        result = again.get();
-                        break;
+                        return putLocal(req, again.get());
                     }
-                    result = loader.get();
-
-                    // cache penetration 방지 (null/empty 는 짧게)
-                    Duration resolvedTtl;
-                    if (result == null || result.isEmpty()) {
-                        result = Collections.emptyList();
-                        resolvedTtl = NULL_TTL;
-                    } else {
-                        resolvedTtl = ttl;
-                    }
-                    redisCacheClient.set(cacheKey, result, resolvedTtl);
-                    break;
+                    CacheEntry<T> entry = loadAndStore(req);
+                    stored = true;
+                    return entry;
                 } finally {
-                    // 락 해제
-                    distributedLockProvider.unlock(lockKey, token);
+                    // 락 해제 후 다른 노드의 대기자를 깨운다
+                    distributedLockProvider.unlock(req.lockKey(), token);
+                    if (stored) {
+                        cacheEventBroker.publishLoaded(req.cacheKey());
+                    }
                 }
+            } finally {
+                // loader 실패, timeout 등으로 LOADED 가 오지 않아도 대기자 등록을 해제한다
+                cacheEventBroker.releaseLoadedSignal(req.cacheKey(), loaded);
             }
+        }
+
+        // 락 보유자가 느려 대기 시간을 모두 소진한 경우, 빈 리스트 대신 직접 조회한다.
+        // single-flight 로 노드당 한 스레드만 여기에 도달한다.
+        log.warn("cache lock contention: failed to acquire lock, loading directly (waitMs={}, key={})",
+                LOCK_WAIT_MS, req.lockKey());
+        cacheMetrics.lockExhausted(req.cacheKey());
+        return putLocal(req, loadEntry(req));
+    }
+
+    // L1 에만 적재. 노드 전체 DB 조회 수는 DEGRADED_MAX_CONCURRENCY 로 제한하고, 자리가 없으면 실패시킨다
+    private <T> CacheEntry<T> loadDegraded(CacheRequest<T> req) {
+        cacheMetrics.request(req.cacheKey(), CacheMetrics.RESULT_DEGRADED);
+
+        boolean acquired = false;
+        try {
+            acquired = degradedLoadPermits.tryAcquire(LOCK_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            throw new BusinessException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        try {
+            return putLocal(req, loadEntry(req));
+        } finally {
+            degradedLoadPermits.release();
+        }
+    }
+
+    // loader 실행 후 Redis 에 저장
+    private <T> CacheEntry<T> loadAndStore(CacheRequest<T> req) {
+        CacheEntry<T> entry = loadEntry(req);
+
+        // cache penetration 방지 (null/empty 는 짧게)
+        Duration hardTtl = isEmpty(entry.value()) ? NULL_TTL : req.hardTtl();
+        redisCacheClient.set(req.cacheKey(), entry, hardTtl);
+        return putLocal(req, entry);
+    }
+
+    private <T> CacheEntry<T> loadEntry(CacheRequest<T> req) {
+        long start = System.nanoTime();
+        T result = req.loader().get();
+        long elapsedNanos = System.nanoTime() - start;
+        cacheMetrics.loader(req.cacheKey()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        Duration softTtl = isEmpty(result) ? NULL_TTL : req.softTtl();
+        return CacheEntry.of(result, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), softTtl);
+    }
+
+    // L1 에 적재 (빈 결과는 NULL_TTL 이 적용되어 짧게 유지)
+    private <T> CacheEntry<T> putLocal(CacheRequest<T> req, CacheEntry<T> entry) {
+        Duration ttl = isEmpty(entry.value()) ? NULL_TTL : req.hardTtl();
+        localCacheStore.put(req.cacheKey(), entry, ttl);
+        return entry;
+    }
 
+    // 논리 만료가 지났거나 XFetch 조건을 만족하면 백그라운드 갱신 예약
+    private <T> void refreshIfNeeded(CacheRequest<T> req, CacheEntry<T> entry) {
+        if (!req.refreshAhead() || isEmpty(entry.value())) return;
+        long now = System.currentTimeMillis();
+        if (!entry.shouldRefresh(now, XFETCH_BETA)) return;
 
+        // lockTtlMs 안에 이미 시도했으면 건너뛴다
+        boolean[] acquired = {false};
+        refreshAttempts.compute(req.cacheKey(), (key, last) -> {
+            if (last != null && now - last < req.lockTtlMs()) return last;
+            acquired[0] = true;
+            return now;
+        });
+        if (!acquired[0]) return;
 
-        } else {
-            log.info("cache hit key={}", cacheKey);
-            result = optional.get();
+        try {
+            refreshExecutor.execute(() -> refresh(req));
+        } catch (RejectedExecutionException e) {
+            log.debug("cache refresh rejected key={}", req.cacheKey());
         }
+    }
+
+    // 논리 만료가 지난 값을 내려주는 경우 stale 로 기록
+    private <T> void recordHit(CacheRequest<T> req, CacheEntry<T> entry, String result) {
+        boolean stale = req.refreshAhead() && System.currentTimeMillis() >= entry.softExpireAt();
+        cacheMetrics.request(req.cacheKey(), stale ? CacheMetrics.RESULT_STALE : result);
+    }
+
+    // 락을 한 번만 시도하고, 실패하면 다른 스레드(노드)가 갱신 중인 것으로 본다
+    private <T> void refresh(CacheRequest<T> req) {
+        String token = distributedLockProvider.tryLock(req.lockKey(), req.lockTtlMs());
+        cacheMetrics.lockAttempt(req.cacheKey(), token != null);
+        if (token == null) return;
 
-        // MAX_RETRY 회 모두 락 획득에 실패하면 빈 리스트 반환
-        if (result == null) {
-            log.warn("cache lock contention: failed to acquire lock (retries={}, key={})",
-                    MAX_RETRY, lockKey);
-            result = Collections.emptyList();
+        boolean stored = false;
+        try {
+            loadAndStore(req);
+            stored = true;
+            refreshAttempts.remove(req.cacheKey());
+        } catch (Exception e) {
+            log.warn("cache refresh failed key={}", req.cacheKey(), e);
+        } finally {
+            distributedLockProvider.unlock(req.lockKey(), token);
         }
 
-        return result;
+        // 다른 노드의 L1 에 남은 stale 값 제거
+        if (stored) {
+            cacheEventBroker.publishEvict(req.cacheKey());
+        }
     }
 
-    public void delete(String cacheKey) {
-        redisCacheClient.delete(cacheKey);
+    // null, 빈 컬렉션은 없는 값으로 보고 짧게 캐시한다
+    private static boolean isEmpty(Object value) {
+        return value == null || (value instanceof Collection<?> c && c.isEmpty());
     }
 
-    private static void sleep(long jitter) {
+    private static Object await(CompletableFuture<Object> flight) {
         try {
-            TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS + jitter);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
         }
     }
+
+    // L1, L2 모두 삭제하고 다른 노드의 L1 도 무효화. L2 에서 실제로 삭제되었는지 반환
+    public boolean delete(String cacheKey) {
+        localCacheStore.evict(cacheKey);
+        boolean deleted = redisCacheClient.delete(cacheKey);
+        cacheEventBroker.publishEvict(cacheKey);
+        return deleted;
+    }
+
+    /**
+     * namespace 의 현재 세대를 붙인 캐시 키 (namespace + ":v" + 세대 + suffix).
+     * 세대는 L1 에 캐시하고, {@link #bumpNamespace} 시 모든 노드에서 비운다.
+     */
+    public String namespacedKey(String namespace, String suffix) {
+        return namespace + ":v" + generation(namespace) + suffix;
+    }
+
+    private long generation(String namespace) {
+        String localKey = namespace + GENERATION_LOCAL_SUFFIX;
+        Optional<Object> local = localCacheStore.get(localKey);
+        if (local.isPresent()) return (Long) local.get();
+
+        long generation = redisCacheClient.getGeneration(generationKey(namespace));
+        // Redis 장애 시(-1)에는 L1 에 남기지 않아 복구 후 바로 실제 세대를 읽는다
+        if (generation >= 0) {
+            localCacheStore.put(localKey, generation, LOCAL_TTL);
+        }
+        return generation;
+    }
+
+    /**
+     * namespace 전체 무효화. 세대만 올리므로 키 개수와 관계없이 INCR 한 번이며,
+     * 이전 세대 키는 TTL 또는 {@code CacheNamespaceCleaner} 가 정리한다. 새 세대 반환
+     */
+    public long bumpNamespace(String namespace) {
+        long generation = redisCacheClient.incrementGeneration(generationKey(namespace));
+        localCacheStore.evictByPrefix(namespace);
+        cacheEventBroker.publishEvictByPrefix(namespace);
+        return generation;
+    }
+
+    // namespace 의 현재 세대 (정리 작업용, L1 을 거치지 않는다)
+    public long currentGeneration(String namespace) {
+        return redisCacheClient.getGeneration(generationKey(namespace));
+    }
+
+    private static String generationKey(String namespace) {
+        return PREFIX_CACHE_GENERATION_KEY + ":" + namespace;
+    }
+
+    // prefix 로 시작하는 캐시를 L1, L2 모두 삭제 (SCAN). 삭제된 L2 키 개수 반환
+    public long deleteByPrefix(String prefix) {
+        localCacheStore.evictByPrefix(prefix);
+        long deleted = redisCacheClient.deleteByPrefix(prefix);
+        cacheEventBroker.publishEvictByPrefix(prefix);
+        return deleted;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record CacheRequest<T>(String cacheKey, String lockKey, long lockTtlMs,
+                                   Duration softTtl, Duration hardTtl, boolean refreshAhead,
+                                   TypeReference<T> typeRef, Supplier<T> loader) {}
 }
@@ -3,8 +3,6 @@ package com.commerce.order.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +13,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import com.commerce.cart.domain.CartProduct;
 import com.commerce.product.domain.DeliveryPolicy;
 import com.commerce.product.domain.ProductOption;
-import com.commerce.order.domain.Orders;
 import com.commerce.product.domain.Product;
 import com.commerce.user.domain.User;
 import com.commerce.common.enums.OrderType;
@@ -23,7 +20,7 @@ import com.commerce.order.dto.OrderCreateRequestDTO;
 import com.commerce.order.dto.OrderDetailResponseDTO;
 import com.commerce.order.dto.OrderItemDTO;
 import com.commerce.order.dto.OrderPriceDTO;
-import com.commerce.order.dto.OrderResponseDTO;
+import com.commerce.order.dto.OrderCursorPage;
 import com.commerce.order.dto.OrderMapper;
 import com.commerce.cart.service.CartService;
 import com.commerce.order.service.OrderService;
@@ -105,10 +102,11 @@ public class OrderController {
 
 
     @GetMapping("/list")
-    public String viewOrderList(@RequestParam(defaultValue = "0") int page, Model model) {
+    public String viewOrderList(@RequestParam(required = false) String cursor, Model model) {
         User user = securityUtil.getCurrentUser();
         int size = 10; // page 사이즈
-        Page<OrderResponseDTO> dtoPage = orderService.findOrderList(user, PageRequest.of(page, size));
+        // 전체 건수는 첫 페이지에서만 센다
+        OrderCursorPage dtoPage = orderService.findOrderListByCursor(user, cursor, size, cursor == null);
         model.addAttribute("page", dtoPage);
 
         return "order-list";
@@ -116,16 +114,10 @@ public class OrderController {
 
     @GetMapping("/detail/{orderNumber}")
     public String orderDetail(@PathVariable String orderNumber, Model model) {
-        Orders order = orderService.findByOrderNumber(orderNumber);
         User currentUser = securityUtil.getCurrentUser();
 
-        // 타인의 주문 번호를 직접 입력하는 경우를 막기 위해
-        // 주문 소유자와 현재 로그인 사용자가 일치하는지 직접 검증한다.
-        if (!order.getUser().getId().equals(currentUser.getId())) {
-            throw new org.springframework.security.access.AccessDeniedException("접근 권한이 없습니다.");
-        }
-
-        OrderDetailResponseDTO dto = orderMapper.toOrderDetailResponseDTO(order, currentUser);
+        // 소유자 검증 포함. 보관된 주문도 조회한다
+        OrderDetailResponseDTO dto = orderService.findOrderDetail(orderNumber, currentUser);
         model.addAttribute("order", dto);
         return "order-list-detail";
     }
@@ -0,0 +1,22 @@
+package com.commerce.order.dto;
+
+import java.time.LocalDateTime;
+
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.PaymentType;
+
+// 보관 테이블(orders_archive)의 주문 (주문 상세 조회용)
+public record ArchivedOrderRow(
+	Long orderId,
+	String orderNumber,
+	Long userId,
+	LocalDateTime orderDate,
+	OrderStatus orderStatus,
+	PaymentType paymentType,
+	int finalPrice,
+	String receiverName,
+	String receiverPhone,
+	String receiverAddress,
+	String orderAddressDetail,
+	String requestNote
+) {}
@@ -0,0 +1,10 @@
+package com.commerce.order.dto;
+
+import java.time.LocalDateTime;
+
+public record ExpiredOrderRow(
+	Long orderId,
+	String orderNumber,
+	Long userId,
+	LocalDateTime updatedAt
+) {}
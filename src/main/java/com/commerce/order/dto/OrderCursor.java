@@ -0,0 +1,40 @@
+package com.commerce.order.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import com.commerce.common.exception.BusinessException;
+
+/**
+ * 주문 목록 keyset 위치. 화면에는 base64url 문자열(token)로만 노출한다.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long orderId) {
+
+	private static final String DELIMITER = "|";
+
+	public static OrderCursor of(OrderHeaderRow row) {
+		return new OrderCursor(row.orderDate(), row.orderId());
+	}
+
+	public String encode() {
+		String raw = createdAt + DELIMITER + orderId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static OrderCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int idx = raw.lastIndexOf(DELIMITER);
+			return new OrderCursor(
+				LocalDateTime.parse(raw.substring(0, idx)),
+				Long.parseLong(raw.substring(idx + 1))
+			);
+		} catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+			throw new BusinessException("잘못된 페이지 정보입니다.", HttpStatus.BAD_REQUEST);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.commerce.order.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * keyset 페이징 결과. nextCursor 가 null 이면 마지막 페이지.
+ * totalCount 는 요청한 경우에만 채운다.
+ */
+@Getter
+@NoArgsConstructor
+public class OrderCursorPage {
+	private List<OrderResponseDTO> content;
+	private String nextCursor;
+	private Long totalCount;
+
+	public OrderCursorPage(List<OrderResponseDTO> content, String nextCursor, Long totalCount) {
+		this.content = content;
+		this.nextCursor = nextCursor;
+		this.totalCount = totalCount;
+	}
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+}
@@ -0,0 +1,24 @@
+package com.commerce.order.dto;
+
+import java.time.LocalDateTime;
+
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.PaymentType;
+
+// 관리자 주문 내보내기 한 행 (주문 품목 단위)
+public record OrderExportRow(
+	Long orderId,
+	String orderNumber,
+	LocalDateTime orderDate,
+	OrderStatus orderStatus,
+	PaymentType paymentType,
+	int finalPrice,
+	String buyerName,
+	String receiverName,
+	String receiverPhone,
+	Long productId,
+	String productName,
+	String optionName,
+	int quantity,
+	int price
+) {}
@@ -2,6 +2,7 @@ package com.commerce.order.dto;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -199,4 +200,47 @@ public class OrderMapper {
 				.build())
 			.build();
 	}
+
+	// 보관된 주문 상세. 단가는 주문 당시 가격
+	public OrderDetailResponseDTO toOrderDetailResponseDTO(ArchivedOrderRow order, List<OrderItemRow> items,
+		Map<Long, String> mainImageUrlByProductId, User user) {
+
+		List<OrderItemDTO> orderItems = new ArrayList<>();
+		for (OrderItemRow item : items) {
+			orderItems.add(OrderItemDTO.builder()
+				.id(item.productId())
+				.quantity(item.quantity())
+				.unitPrice(item.price())
+				.totalPrice(item.price() * item.quantity())
+				.mainImageUrl(mainImageUrlByProductId.get(item.productId()))
+				.name(item.productName())
+				.optionName(item.optionName())
+				.build());
+		}
+
+		return OrderDetailResponseDTO.builder()
+			.orderNumber(order.orderNumber())
+			.orderDate(order.orderDate())
+			.ordererInfo(OrderDetailResponseDTO.OrdererInfo.builder()
+				.name(user.getName())
+				.email(user.getEmail())
+				.phone(user.getPhone())
+				.build()
+			)
+			.shippingInfo(OrderDetailResponseDTO.ShippingInfo.builder()
+				.receiverName(order.receiverName())
+				.receiverPhone(order.receiverPhone())
+				.address(order.receiverAddress())
+				.addressDetail(order.orderAddressDetail())
+				.requestMessage(order.requestNote())
+				.build()
+			)
+			.orderItems(orderItems)
+			.orderPrice(new OrderPriceDTO(order.finalPrice(), DeliveryPolicy.DELIVERY_FEE, order.finalPrice() + DeliveryPolicy.DELIVERY_FEE))
+			.paymentInfo(OrderDetailResponseDTO.PaymentInfo.builder()
+				.paymentMethod(order.paymentType() != null ? order.paymentType().getText() : null)
+				.orderStatus(order.orderStatus().getText())
+				.build())
+			.build();
+	}
 }
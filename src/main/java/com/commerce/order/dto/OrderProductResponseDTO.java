@@ -1,10 +1,12 @@
 package com.commerce.order.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class OrderProductResponseDTO {
 	private Long id;
 	private String productName;
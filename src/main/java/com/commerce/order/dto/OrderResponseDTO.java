@@ -6,10 +6,12 @@ import java.util.List;
 import com.commerce.common.enums.OrderStatus;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class OrderResponseDTO {
 	private String orderNumber;
 	private LocalDateTime orderDate;
@@ -0,0 +1,34 @@
+package com.commerce.order.dto;
+
+import java.util.List;
+
+import com.commerce.common.enums.OrderStatus;
+
+/**
+ * 관리자 일괄 상태 변경 결과. 변경된 주문 id 와 제외된 주문(사유)을 담는다.
+ */
+public record OrderStatusChangeResult(
+	OrderStatus target,
+	List<Long> changedIds,
+	List<Skipped> skipped
+) {
+
+	public enum SkipReason {
+		NOT_FOUND("존재하지 않는 주문"),
+		NOT_ALLOWED("변경할 수 없는 상태");
+
+		private final String text;
+
+		SkipReason(String text) {
+			this.text = text;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+
+	// currentStatus 는 NOT_FOUND 일 때 null
+	public record Skipped(Long orderId, OrderStatus currentStatus, SkipReason reason) {
+	}
+}
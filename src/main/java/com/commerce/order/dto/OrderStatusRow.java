@@ -0,0 +1,9 @@
+package com.commerce.order.dto;
+
+import com.commerce.common.enums.OrderStatus;
+
+public record OrderStatusRow(
+	Long orderId,
+	OrderStatus orderStatus,
+	Long userId
+) {}
@@ -0,0 +1,208 @@
+package com.commerce.order.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.PaymentType;
+import com.commerce.order.dto.ArchivedOrderRow;
+import com.commerce.order.dto.OrderHeaderRow;
+import com.commerce.order.dto.OrderItemRow;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 완료된 오래된 주문의 보관 테이블 (orders_archive, order_product_archive, delivery_archive).
+ * 원본과 같은 컬럼을 가지며 FK 는 없다. 스키마는 db/archive.sql 참고.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveJdbcRepository {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// 보관 테이블이 없으면 원본 구조로 만든다. 만들었으면 true
+	public boolean createTablesIfMissing() {
+		boolean created = false;
+		if (!tableExists("orders_archive")) {
+			jdbcTemplate.execute("create table orders_archive like orders");
+			jdbcTemplate.execute("create index idx_order_archive_user_create on orders_archive(user_id, created_at)");
+			created = true;
+		}
+		if (!tableExists("order_product_archive")) {
+			jdbcTemplate.execute("create table order_product_archive like order_product");
+			created = true;
+		}
+		if (!tableExists("delivery_archive")) {
+			jdbcTemplate.execute("create table delivery_archive like delivery");
+			created = true;
+		}
+		return created;
+	}
+
+	public boolean tablesExist() {
+		return tableExists("orders_archive") && tableExists("order_product_archive") && tableExists("delivery_archive");
+	}
+
+	private boolean tableExists(String table) {
+		Integer count = jdbcTemplate.queryForObject("""
+			select count(*) from information_schema.tables
+			where table_schema = database() and table_name = ?
+			""", Integer.class, table);
+		return count != null && count > 0;
+	}
+
+	/**
+	 * 보관 대상 주문을 잠그고 id 를 반환한다. statuses 상태로 cutoff 이전에 마지막으로 변경된 주문.
+	 * idx_order_status_updated(order_status, updated_at) 범위 조회.
+	 */
+	public List<Long> lockArchivable(List<OrderStatus> statuses, LocalDateTime cutoff, int limit) {
+		String placeholders = String.join(",", Collections.nCopies(statuses.size(), "?"));
+		String sql = """
+			select order_id from orders
+			where order_status in (%s) and updated_at < ?
+			limit ?
+			for update
+			""".formatted(placeholders);
+
+		List<Object> params = new ArrayList<>();
+		statuses.forEach(status -> params.add(status.name()));
+		params.add(Timestamp.valueOf(cutoff));
+		params.add(limit);
+		return jdbcTemplate.queryForList(sql, Long.class, params.toArray());
+	}
+
+	/**
+	 * 주문, 주문 품목, 배송 정보를 보관 테이블로 옮긴다. 같은 트랜잭션에서 {@link #lockArchivable} 로 잠근 주문이어야 한다.
+	 * delivery 는 orders 를 FK 로 참조하므로 orders 보다 먼저 지운다.
+	 * 옮기는 컬럼은 보관 테이블과 원본에 모두 있는 일반 컬럼 (가상 컬럼 제외). 장바구니 연결 정보는 결제 후 쓰지 않으므로 지운다.
+	 */
+	public void moveToArchive(List<Long> orderIds) {
+		if (orderIds.isEmpty()) return;
+		String in = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+		Object[] ids = orderIds.toArray();
+
+		String orderColumns = String.join(", ", commonColumns("orders", "orders_archive"));
+		String orderProductColumns = String.join(", ", commonColumns("order_product", "order_product_archive"));
+		String deliveryColumns = String.join(", ", commonColumns("delivery", "delivery_archive"));
+
+		jdbcTemplate.update("insert into orders_archive (%1$s) select %1$s from orders where order_id in (%2$s)"
+			.formatted(orderColumns, in), ids);
+		jdbcTemplate.update("insert into order_product_archive (%1$s) select %1$s from order_product where order_id in (%2$s)"
+			.formatted(orderProductColumns, in), ids);
+		jdbcTemplate.update("insert into delivery_archive (%1$s) select %1$s from delivery where order_id in (%2$s)"
+			.formatted(deliveryColumns, in), ids);
+		jdbcTemplate.update("delete from delivery where order_id in (%s)".formatted(in), ids);
+		jdbcTemplate.update("delete from order_cart_product where order_id in (%s)".formatted(in), ids);
+		jdbcTemplate.update("delete from order_product where order_id in (%s)".formatted(in), ids);
+		jdbcTemplate.update("delete from orders where order_id in (%s)".formatted(in), ids);
+	}
+
+	private List<String> commonColumns(String source, String archive) {
+		return jdbcTemplate.queryForList("""
+			select a.column_name from information_schema.columns a
+			join information_schema.columns s
+				on s.table_schema = a.table_schema and s.table_name = ? and s.column_name = a.column_name
+			where a.table_schema = database() and a.table_name = ?
+				and a.extra not like '%GENERATED%' and s.extra not like '%GENERATED%'
+			order by a.ordinal_position
+			""", String.class, source, archive);
+	}
+
+	// 원본 테이블 행 수 추정치 (통계 기반, 지표용)
+	public long estimateOrderRows() {
+		Long rows = jdbcTemplate.queryForObject("""
+			select coalesce(table_rows, 0) from information_schema.tables
+			where table_schema = database() and table_name = 'orders'
+			""", Long.class);
+		return rows != null ? rows : 0;
+	}
+
+	/**
+	 * 사용자 보관 주문 헤더. after 가 있으면 (createdAt, orderId) 보다 앞선 주문부터. (created_at, order_id) 역순.
+	 */
+	public List<OrderHeaderRow> findOrderHeaders(Long userId, LocalDateTime createdAt, Long orderId, int limit) {
+		String sql = """
+			select order_id, order_number, created_at, order_status, final_price
+			from orders_archive
+			where user_id = ?
+			""";
+		List<Object> params = new ArrayList<>();
+		params.add(userId);
+		if (createdAt != null) {
+			sql += " and (created_at < ? or (created_at = ? and order_id < ?))";
+			params.add(Timestamp.valueOf(createdAt));
+			params.add(Timestamp.valueOf(createdAt));
+			params.add(orderId);
+		}
+		sql += " order by created_at desc, order_id desc limit ?";
+		params.add(limit);
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderHeaderRow(
+			rs.getLong("order_id"),
+			rs.getString("order_number"),
+			rs.getTimestamp("created_at").toLocalDateTime(),
+			OrderStatus.valueOf(rs.getString("order_status")),
+			rs.getInt("final_price")
+		), params.toArray());
+	}
+
+	public long countByUser(Long userId) {
+		Long count = jdbcTemplate.queryForObject("select count(*) from orders_archive where user_id = ?",
+			Long.class, userId);
+		return count != null ? count : 0;
+	}
+
+	public List<OrderItemRow> findOrderItemsByOrderIds(List<Long> orderIds) {
+		if (orderIds.isEmpty()) return List.of();
+		String sql = """
+			select op.order_id, p.product_id, p.name as product_name, po.name as option_name, op.quantity, op.price
+			from order_product_archive op
+			join product p on p.product_id = op.product_id
+			left join product_option po on po.id = op.product_option_id
+			where op.order_id in (%s)
+			""".formatted(String.join(",", Collections.nCopies(orderIds.size(), "?")));
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderItemRow(
+			rs.getLong("order_id"),
+			rs.getLong("product_id"),
+			rs.getString("product_name"),
+			rs.getString("option_name"),
+			rs.getInt("quantity"),
+			rs.getInt("price")
+		), orderIds.toArray());
+	}
+
+	public Optional<ArchivedOrderRow> findByOrderNumber(String orderNumber) {
+		String sql = """
+			select order_id, order_number, user_id, created_at, order_status, payment_type, final_price,
+				receiver_name, receiver_phone, receiver_address, order_address_detail, request_note
+			from orders_archive
+			where order_number = ?
+			""";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> {
+			String paymentType = rs.getString("payment_type");
+			return new ArchivedOrderRow(
+				rs.getLong("order_id"),
+				rs.getString("order_number"),
+				rs.getObject("user_id", Long.class),
+				rs.getTimestamp("created_at").toLocalDateTime(),
+				OrderStatus.valueOf(rs.getString("order_status")),
+				paymentType != null ? PaymentType.valueOf(paymentType) : null,
+				rs.getInt("final_price"),
+				rs.getString("receiver_name"),
+				rs.getString("receiver_phone"),
+				rs.getString("receiver_address"),
+				rs.getString("order_address_detail"),
+				rs.getString("request_note")
+			);
+		}, orderNumber).stream().findFirst();
+	}
+}
@@ -0,0 +1,308 @@
+package com.commerce.order.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.commerce.common.enums.OrderSearchKeywordType;
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.PaymentType;
+import com.commerce.order.dto.ExpiredOrderRow;
+import com.commerce.order.dto.OrderExportRow;
+import com.commerce.order.dto.OrderStatusRow;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * status 로 cutoff 이전에 마지막으로 변경된 주문을 (updated_at, order_id) 순서로 limit 개 조회 (keyset).
+	 * 첫 조회는 afterUpdatedAt, afterId 를 null 로 넘긴다. idx_order_status_updated 사용
+	 */
+	public List<ExpiredOrderRow> findExpired(OrderStatus status, LocalDateTime cutoff,
+		LocalDateTime afterUpdatedAt, Long afterId, int limit) {
+
+		String keyset = afterUpdatedAt == null ? "" : "and (updated_at > ? or (updated_at = ? and order_id > ?)) ";
+		String sql = """
+			select order_id, order_number, user_id, updated_at
+			from orders
+			where order_status = ? and updated_at < ?
+			""" + keyset + """
+			order by updated_at, order_id
+			limit ?
+			""";
+
+		Object[] params = afterUpdatedAt == null
+			? new Object[] {status.name(), Timestamp.valueOf(cutoff), limit}
+			: new Object[] {status.name(), Timestamp.valueOf(cutoff),
+				Timestamp.valueOf(afterUpdatedAt), Timestamp.valueOf(afterUpdatedAt), afterId, limit};
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new ExpiredOrderRow(
+			rs.getLong("order_id"),
+			rs.getString("order_number"),
+			rs.getLong("user_id"),
+			rs.getTimestamp("updated_at").toLocalDateTime()
+		), params);
+	}
+
+	// 만료 대상 주문 수 (sweeper backlog 메트릭)
+	public long countExpired(OrderStatus status, LocalDateTime cutoff) {
+		Long count = jdbcTemplate.queryForObject(
+			"select count(*) from orders where order_status = ? and updated_at < ?",
+			Long.class, status.name(), Timestamp.valueOf(cutoff));
+		return count != null ? count : 0;
+	}
+
+	// status 인 주문만 order_id 순서로 잠그고 id 반환
+	public List<Long> lockIdsByStatus(Collection<Long> orderIds, OrderStatus status) {
+		if (orderIds == null || orderIds.isEmpty()) return List.of();
+
+		String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+		String sql = """
+			select order_id from orders
+			where order_id in (%s) and order_status = ?
+			order by order_id
+			for update
+			""".formatted(placeholders);
+
+		Object[] params = new Object[orderIds.size() + 1];
+		int i = 0;
+		for (Long id : orderIds) {
+			params[i++] = id;
+		}
+		params[i] = status.name();
+		return jdbcTemplate.queryForList(sql, Long.class, params);
+	}
+
+	/**
+	 * from 상태인 주문만 to 로 변경. 변경된 행 수 반환
+	 */
+	public int updateStatus(Collection<Long> orderIds, OrderStatus from, OrderStatus to) {
+		return updateStatus(orderIds, List.of(from), to);
+	}
+
+	/**
+	 * 현재 상태가 from 중 하나인 주문만 to 로 변경. 한 문장으로 처리.
+	 * updated_at 은 JPA auditing 과 같은 기준이 되도록 DB 시계가 아닌 애플리케이션 시각으로 쓴다.
+	 */
+	public int updateStatus(Collection<Long> orderIds, Collection<OrderStatus> from, OrderStatus to) {
+		if (orderIds == null || orderIds.isEmpty() || from.isEmpty()) return 0;
+
+		String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+		String fromPlaceholders = String.join(",", Collections.nCopies(from.size(), "?"));
+		String sql = """
+			update orders set order_status = ?, updated_at = ?
+			where order_id in (%s) and order_status in (%s)
+			""".formatted(placeholders, fromPlaceholders);
+
+		List<Object> params = new ArrayList<>(orderIds.size() + from.size() + 2);
+		params.add(to.name());
+		params.add(Timestamp.valueOf(LocalDateTime.now()));
+		params.addAll(orderIds);
+		from.forEach(status -> params.add(status.name()));
+		return jdbcTemplate.update(sql, params.toArray());
+	}
+
+	// 주문 상태를 order_id 순서로 잠그고 조회 (관리자 일괄 상태 변경)
+	public List<OrderStatusRow> lockStatuses(Collection<Long> orderIds) {
+		if (orderIds == null || orderIds.isEmpty()) return List.of();
+
+		String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+		String sql = """
+			select order_id, order_status, user_id from orders
+			where order_id in (%s)
+			order by order_id
+			for update
+			""".formatted(placeholders);
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderStatusRow(
+			rs.getLong("order_id"),
+			OrderStatus.valueOf(rs.getString("order_status")),
+			rs.getObject("user_id", Long.class)
+		), orderIds.toArray());
+	}
+
+	// 주문들의 사용자 id (주문 목록 캐시 무효화)
+	public List<Long> findUserIds(Collection<Long> orderIds) {
+		if (orderIds == null || orderIds.isEmpty()) return List.of();
+
+		String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+		String sql = "select distinct user_id from orders where order_id in (%s) and user_id is not null"
+			.formatted(placeholders);
+		return jdbcTemplate.queryForList(sql, Long.class, orderIds.toArray());
+	}
+
+	/**
+	 * 관리자 주문 검색. 검색어 분류별 인덱스로 후보를 찾고 필터를 적용해 최신순 order_id 한 페이지를 반환한다.
+	 * <ul>
+	 *   <li>ORDER_NUMBER: order_number = ?</li>
+	 *   <li>PHONE_SUFFIX: receiver_phone_rev like '뒤집은 번호%' (idx_order_phone_rev)</li>
+	 *   <li>TEXT: ft_order_search, ft_user_name 결과의 합집합. term 은 boolean mode 구문으로 넘긴다</li>
+	 * </ul>
+	 * type 이 null 이면 term 으로 LIKE 검색, term 도 null 이면 검색어 조건 없음.
+	 * full-text 인덱스나 가상 컬럼이 없으면 BadSqlGrammarException.
+	 */
+	public List<Long> searchAdminOrderIds(OrderSearchKeywordType type, String term,
+		LocalDateTime start, LocalDateTime end, OrderStatus status, PaymentType paymentType,
+		long offset, int limit) {
+
+		List<Object> params = new ArrayList<>();
+		String sql = "select o.order_id " + adminSearchFrom(type, term, start, end, status, paymentType, params)
+			+ " order by o.created_at desc, o.order_id desc limit ? offset ?";
+		params.add(limit);
+		params.add(offset);
+		return jdbcTemplate.queryForList(sql, Long.class, params.toArray());
+	}
+
+	public long countAdminOrders(OrderSearchKeywordType type, String term,
+		LocalDateTime start, LocalDateTime end, OrderStatus status, PaymentType paymentType) {
+
+		List<Object> params = new ArrayList<>();
+		String sql = "select count(*) " + adminSearchFrom(type, term, start, end, status, paymentType, params);
+		Long count = jdbcTemplate.queryForObject(sql, Long.class, params.toArray());
+		return count != null ? count : 0;
+	}
+
+	private static String adminSearchFrom(OrderSearchKeywordType type, String term,
+		LocalDateTime start, LocalDateTime end, OrderStatus status, PaymentType paymentType, List<Object> params) {
+
+		StringBuilder sql = new StringBuilder();
+		if (type == null) {
+			// 분류 없이 LIKE 검색 (full-text 인덱스가 없을 때)
+			sql.append("from orders o");
+			if (term != null) {
+				sql.append("""
+					 left join user lu on lu.user_id = o.user_id
+					where (o.order_number like concat('%', ?, '%')
+						or lu.name like concat('%', ?, '%')
+						or o.receiver_phone like concat('%', ?, '%'))""");
+				params.add(term);
+				params.add(term);
+				params.add(term);
+			} else {
+				sql.append(" where 1 = 1");
+			}
+		} else switch (type) {
+			case ORDER_NUMBER -> {
+				sql.append("from orders o where o.order_number = ?");
+				params.add(term);
+			}
+			case PHONE_SUFFIX -> {
+				// 뒷자리(뒤집은 번호 prefix)와 full-text 부분 일치를 합친다. 010-1234 처럼 앞자리로도 찾을 수 있게
+				sql.append("""
+					from (
+						select order_id from orders
+						where receiver_phone_rev like concat(?, '%')
+						union
+						select order_id from orders
+						where match(order_number, receiver_phone) against (? in boolean mode)
+					) m
+					join orders o on o.order_id = m.order_id
+					where 1 = 1""");
+				String digits = OrderSearchKeywordType.digitsOf(term);
+				params.add(new StringBuilder(digits).reverse().toString());
+				// 하이픈 있이/없이 저장된 번호 모두 구문 검색 (boolean mode 에서 두 구문은 OR)
+				params.add(term.equals(digits) ? "\"" + digits + "\"" : "\"" + term + "\" \"" + digits + "\"");
+			}
+			case TEXT -> {
+				// OR 로 묶으면 full-text 인덱스를 못 쓰므로 각각 조회 후 합친다
+				sql.append("""
+					from (
+						select order_id from orders
+						where match(order_number, receiver_phone) against (? in boolean mode)
+						union
+						select o2.order_id from user u
+						join orders o2 on o2.user_id = u.user_id
+						where match(u.name) against (? in boolean mode)
+					) m
+					join orders o on o.order_id = m.order_id
+					where 1 = 1""");
+				params.add(term);
+				params.add(term);
+			}
+		}
+
+		if (status != null) {
+			sql.append(" and o.order_status = ?");
+			params.add(status.name());
+		}
+		if (paymentType != null) {
+			sql.append(" and o.payment_type = ?");
+			params.add(paymentType.name());
+		}
+		if (start != null) {
+			sql.append(" and o.created_at >= ?");
+			params.add(Timestamp.valueOf(start));
+		}
+		if (end != null) {
+			sql.append(" and o.created_at <= ?");
+			params.add(Timestamp.valueOf(end));
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * 관리자 주문 내보내기. {@link #searchAdminOrderIds} 와 같은 조건의 주문 품목을 최신 주문순으로 한 행씩 handler 에 넘긴다.
+	 * fetchSize 를 Integer.MIN_VALUE 로 두어 MySQL 드라이버가 결과를 메모리에 모으지 않고 스트리밍한다.
+	 * 스트리밍이 끝날 때까지 커넥션을 점유하므로 handler 안에서 다른 쿼리를 실행하면 안 된다.
+	 */
+	public void streamAdminOrderLines(OrderSearchKeywordType type, String term,
+		LocalDateTime start, LocalDateTime end, OrderStatus status, PaymentType paymentType,
+		Consumer<OrderExportRow> handler) {
+
+		List<Object> params = new ArrayList<>();
+		String sql = """
+			select o.order_id, o.order_number, o.created_at, o.order_status, o.payment_type, o.final_price,
+				o.receiver_name, o.receiver_phone, u.name as buyer_name,
+				op.product_id, p.name as product_name, po.name as option_name, op.quantity, op.price
+			from (select o.order_id, o.created_at %s) f
+			join orders o on o.order_id = f.order_id
+			left join user u on u.user_id = o.user_id
+			join order_product op on op.order_id = o.order_id
+			join product p on p.product_id = op.product_id
+			left join product_option po on po.id = op.product_option_id
+			order by f.created_at desc, f.order_id desc, op.order_product_id
+			""".formatted(adminSearchFrom(type, term, start, end, status, paymentType, params));
+
+		jdbcTemplate.query(con -> {
+			PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(Integer.MIN_VALUE);
+			for (int i = 0; i < params.size(); i++) {
+				ps.setObject(i + 1, params.get(i));
+			}
+			return ps;
+		}, (RowCallbackHandler) rs -> {
+			String paymentTypeName = rs.getString("payment_type");
+			handler.accept(new OrderExportRow(
+				rs.getLong("order_id"),
+				rs.getString("order_number"),
+				rs.getTimestamp("created_at").toLocalDateTime(),
+				OrderStatus.valueOf(rs.getString("order_status")),
+				paymentTypeName != null ? PaymentType.valueOf(paymentTypeName) : null,
+				rs.getInt("final_price"),
+				rs.getString("buyer_name"),
+				rs.getString("receiver_name"),
+				rs.getString("receiver_phone"),
+				rs.getLong("product_id"),
+				rs.getString("product_name"),
+				rs.getString("option_name"),
+				rs.getInt("quantity"),
+				rs.getInt("price")
+			));
+		});
+	}
+}
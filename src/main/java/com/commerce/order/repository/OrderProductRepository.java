@@ -1,17 +1,14 @@
 package com.commerce.order.repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.commerce.order.domain.OrderProduct;
-import com.commerce.common.enums.OrderStatus;
 import com.commerce.order.dto.OrderItemRow;
-import com.commerce.product.dto.ProductSoldRow;
 
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
 	@Query("""
@@ -32,17 +29,9 @@ public interface OrderProductRepository extends JpaRepository<OrderProduct, Long
 		""")
 	List<OrderItemRow> findOrderItemsByOrderIds(@Param("orderIds") List<Long> orderIds);
 
-	@Query("select op from OrderProduct op join fetch op.product where op.order.id = :orderId")
+	@Query("select op from OrderProduct op join fetch op.product left join fetch op.productOption where op.order.id = :orderId")
 	List<OrderProduct> findOrderProductByOrderIdWithProduct(Long orderId);
 
-	@Query("""
-	  select new com.commerce.product.dto.ProductSoldRow(op.product.id, sum(op.quantity))
-	  from OrderProduct op
-	  join op.order o
-	  where o.orderStatus in :statuses
-		and o.approvedAt >= :since
-	  group by op.product.id
-	  order by sum(op.quantity) desc
-	""")
-	List<ProductSoldRow> findPopularProducts( List<OrderStatus> statuses, LocalDateTime since,  Pageable pageable);
+	@Query("select op from OrderProduct op join fetch op.product left join fetch op.productOption where op.order.id in :orderIds")
+	List<OrderProduct> findOrderProductByOrderIdsWithProduct(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,9 +1,11 @@
 package com.commerce.order.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -37,6 +39,11 @@ public interface OrderRepository extends JpaRepository<Orders, Long> {
 	@Query("select o from Orders o where o.orderNumber = :orderNumber")
 	Optional<Orders> findByOrderNumberWithLock(@Param("orderNumber") String orderNumber);
 
+	/** 재고 차감 배치용. id 순서로 잠근다. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select o from Orders o where o.orderNumber in :orderNumbers order by o.id")
+	List<Orders> findAllByOrderNumberInWithLock(@Param("orderNumbers") Collection<String> orderNumbers);
+
 	@Query("""
 			select o from Orders o
 			join fetch o.orderProducts op
@@ -68,16 +75,36 @@ public interface OrderRepository extends JpaRepository<Orders, Long> {
 		Pageable pageable
 	);
 
-	@Query(value = """
-    select new com.commerce.order.dto.OrderHeaderRow(
-        o.id, o.orderNumber, o.createdAt, o.orderStatus, o.finalPrice
-    )
-    from Orders o
-    where o.user = :user
-    order by o.createdAt desc
-""", countQuery = """
-    select count(o) from Orders o where o.user = :user
-""")
-	Page<OrderHeaderRow> findOrderHeaders(@Param("user") User user, Pageable pageable);
+	/** 관리자 full-text 검색 결과 id 로 주문과 주문자 조회 (순서는 호출 측에서 맞춘다) */
+	@Query("select o from Orders o join fetch o.user where o.id in :ids")
+	List<Orders> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * 사용자 주문 헤더 첫 페이지 (keyset). idx_order_user_create(user_id, created_at) 뒤에 붙은 PK 까지
+	 * (created_at, order_id) 역순으로 인덱스를 그대로 읽는다.
+	 */
+	@Query("""
+		select new com.commerce.order.dto.OrderHeaderRow(
+			o.id, o.orderNumber, o.createdAt, o.orderStatus, o.finalPrice
+		)
+		from Orders o
+		where o.user = :user
+		order by o.createdAt desc, o.id desc
+		""")
+	List<OrderHeaderRow> findOrderHeadersFirst(@Param("user") User user, Limit limit);
+
+	/** {@link #findOrderHeadersFirst} 다음 페이지. (createdAt, orderId) 보다 앞선 주문부터 조회한다. */
+	@Query("""
+		select new com.commerce.order.dto.OrderHeaderRow(
+			o.id, o.orderNumber, o.createdAt, o.orderStatus, o.finalPrice
+		)
+		from Orders o
+		where o.user = :user
+		and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :orderId))
+		order by o.createdAt desc, o.id desc
+		""")
+	List<OrderHeaderRow> findOrderHeadersAfter(@Param("user") User user,
+		@Param("createdAt") LocalDateTime createdAt, @Param("orderId") Long orderId, Limit limit);
 
+	long countByUser(User user);
 }
@@ -0,0 +1,120 @@
+package com.commerce.order.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.order.dto.ArchivedOrderRow;
+import com.commerce.order.dto.OrderHeaderRow;
+import com.commerce.order.dto.OrderItemRow;
+import com.commerce.order.repository.OrderArchiveJdbcRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 보관. 배송 완료/취소 후 age-days 가 지난 주문을 보관 테이블로 옮겨 orders, order_product 크기를 일정하게 유지한다.
+ *
+ * <p>보관 주문은 모두 {@link #archivedBefore()} 이전에 생성됐다. 조회는 결과가 그 시각 이전까지 내려갈 때만 보관 테이블을 읽는다.
+ * <p>판매량 정렬/인기 상품은 product_sales_daily 를 읽으므로 보관과 관계없다. 재집계는 보관 주문도 합친다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveService {
+
+	static final List<OrderStatus> ARCHIVABLE_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELED);
+
+	private static final Comparator<OrderHeaderRow> LATEST_FIRST = Comparator
+		.comparing(OrderHeaderRow::orderDate)
+		.thenComparing(OrderHeaderRow::orderId)
+		.reversed();
+
+	private final OrderArchiveJdbcRepository orderArchiveJdbcRepository;
+
+	@Value("${app.order.archive.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.order.archive.age-days:180}")
+	private int ageDays;
+
+	// 보관 테이블 존재 여부. 없으면 보관하지 않고 조회도 원본만 읽는다
+	private volatile boolean available;
+
+	@EventListener(ApplicationReadyEvent.class)
+	void prepareTables() {
+		try {
+			if (enabled && orderArchiveJdbcRepository.createTablesIfMissing()) {
+				log.info("주문 보관 테이블 생성");
+			}
+			available = orderArchiveJdbcRepository.tablesExist();
+		} catch (DataAccessException e) {
+			log.warn("주문 보관 테이블 준비 실패, 보관 비활성화 (db/archive.sql 확인). {}", e.getMessage());
+			available = false;
+		}
+	}
+
+	public boolean isAvailable() {
+		return available;
+	}
+
+	// 이 시각 이후에 생성된 주문은 보관 테이블에 없다
+	public LocalDateTime archivedBefore() {
+		return LocalDateTime.now().minusDays(ageDays);
+	}
+
+	/**
+	 * 보관 대상 주문을 최대 limit 개 옮긴다. 원본 삭제와 보관 테이블 저장이 한 트랜잭션.
+	 * @return 옮긴 주문 수
+	 */
+	@Transactional
+	public int archiveBatch(LocalDateTime cutoff, int limit) {
+		List<Long> orderIds = orderArchiveJdbcRepository.lockArchivable(ARCHIVABLE_STATUSES, cutoff, limit);
+		orderArchiveJdbcRepository.moveToArchive(orderIds);
+		return orderIds.size();
+	}
+
+	/**
+	 * 원본에서 읽은 사용자 주문 헤더(limit 개까지)에 보관 주문을 합친다. 최신순 limit 개.
+	 * 원본 결과가 limit 개이고 마지막 주문이 {@link #archivedBefore()} 이후면 보관 주문이 끼어들 수 없으므로 읽지 않는다.
+	 */
+	public List<OrderHeaderRow> mergeOrderHeaders(List<OrderHeaderRow> headers, Long userId,
+		LocalDateTime afterCreatedAt, Long afterOrderId, int limit) {
+
+		if (!available) return headers;
+		if (headers.size() >= limit && !headers.get(limit - 1).orderDate().isBefore(archivedBefore())) {
+			return headers;
+		}
+
+		List<OrderHeaderRow> archived = orderArchiveJdbcRepository.findOrderHeaders(userId, afterCreatedAt, afterOrderId, limit);
+		if (archived.isEmpty()) return headers;
+
+		List<OrderHeaderRow> merged = new ArrayList<>(headers.size() + archived.size());
+		merged.addAll(headers);
+		merged.addAll(archived);
+		merged.sort(LATEST_FIRST);
+		return merged.size() > limit ? merged.subList(0, limit) : merged;
+	}
+
+	public long countByUser(Long userId) {
+		return available ? orderArchiveJdbcRepository.countByUser(userId) : 0;
+	}
+
+	public List<OrderItemRow> findOrderItems(List<Long> orderIds) {
+		return available ? orderArchiveJdbcRepository.findOrderItemsByOrderIds(orderIds) : List.of();
+	}
+
+	public Optional<ArchivedOrderRow> findByOrderNumber(String orderNumber) {
+		return available ? orderArchiveJdbcRepository.findByOrderNumber(orderNumber) : Optional.empty();
+	}
+}
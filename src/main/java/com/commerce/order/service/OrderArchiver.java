@@ -0,0 +1,87 @@
+package com.commerce.order.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.commerce.common.support.RedisDistributedLockProvider;
+import com.commerce.order.repository.OrderArchiveJdbcRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 완료 주문 보관 작업. 여러 노드 중 락을 잡은 하나만 실행한다.
+ *
+ * <p>DELIVERED/CANCELED 상태로 {@code age-days} 이상 지난 주문을 batch-size 개씩, 회차당 최대 max-batches 번
+ * {@link OrderArchiveService#archiveBatch} 로 옮긴다. 배치마다 트랜잭션이 끝나므로 행 락은 짧게 유지된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+	private static final String LOCK_KEY = "commerce:order:archive:lock";
+	private static final long LOCK_TTL_MS = 10 * 60 * 1000;
+
+	private final OrderArchiveService orderArchiveService;
+	private final OrderArchiveJdbcRepository orderArchiveJdbcRepository;
+	private final RedisDistributedLockProvider distributedLockProvider;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${app.order.archive.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.order.archive.batch-size:500}")
+	private int batchSize;
+
+	@Value("${app.order.archive.max-batches:20}")
+	private int maxBatches;
+
+	private final AtomicLong hotRows = new AtomicLong();
+
+	@PostConstruct
+	void registerMetrics() {
+		Gauge.builder("app.order.archive.hot-rows", hotRows, AtomicLong::get)
+			.description("보관 작업 후 orders 테이블 행 수 추정치")
+			.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.order.archive.interval-ms:3600000}",
+		initialDelayString = "${app.order.archive.interval-ms:3600000}")
+	public void archive() {
+		if (!enabled || !orderArchiveService.isAvailable()) return;
+
+		String token = distributedLockProvider.tryLock(LOCK_KEY, LOCK_TTL_MS);
+		if (token == null) return;
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			LocalDateTime cutoff = orderArchiveService.archivedBefore();
+			int moved = 0;
+			for (int i = 0; i < maxBatches; i++) {
+				int count = orderArchiveService.archiveBatch(cutoff, batchSize);
+				moved += count;
+				if (count < batchSize) break;
+			}
+			meterRegistry.counter("app.order.archive.moved").increment(moved);
+			hotRows.set(orderArchiveJdbcRepository.estimateOrderRows());
+
+			if (moved > 0) {
+				log.info("완료 주문 보관. moved={}, cutoff={}", moved, cutoff);
+			}
+		} catch (Exception e) {
+			log.warn("완료 주문 보관 실패", e);
+		} finally {
+			sample.stop(meterRegistry.timer("app.order.archive.run"));
+			distributedLockProvider.unlock(LOCK_KEY, token);
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package com.commerce.order.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.commerce.admin.dto.AdminOrderSearchCond;
+import com.commerce.common.exception.BusinessException;
+import com.commerce.order.dto.OrderExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 관리자 주문 내보내기. {@link OrderService#exportOrderLines} 가 넘기는 행을 바로 응답 스트림에 쓴다.
+ *
+ * <p>CSV: 주문 품목 한 행에 한 줄. 엑셀에서 열 수 있도록 UTF-8 BOM 을 붙인다.
+ * <p>NDJSON: 주문 한 건에 한 줄, 품목은 lines 배열. 같은 주문의 품목은 연속해서 오므로 현재 주문 하나만 들고 있는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+	// 이 행 수마다 flush (클라이언트가 받는 동안 서버 버퍼가 커지지 않도록)
+	private static final int FLUSH_ROWS = 1000;
+
+	private static final String[] CSV_HEADER = {
+		"주문번호", "주문일시", "주문상태", "결제수단", "주문자", "수령인", "수령인 연락처", "결제금액",
+		"상품ID", "상품명", "옵션", "수량", "단가"
+	};
+
+	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
+
+	public enum Format {
+		CSV("text/csv; charset=UTF-8", "csv"),
+		NDJSON("application/x-ndjson; charset=UTF-8", "ndjson");
+
+		private final String contentType;
+		private final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+
+		public static Format from(String value) {
+			for (Format format : values()) {
+				if (format.extension.equalsIgnoreCase(value)) {
+					return format;
+				}
+			}
+			throw new BusinessException("지원하지 않는 내보내기 형식입니다: " + value, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	public void export(AdminOrderSearchCond cond, Format format, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		try {
+			if (format == Format.CSV) {
+				writeCsv(cond, writer);
+			} else {
+				writeNdjson(cond, writer);
+			}
+		} catch (UncheckedIOException e) {
+			// 클라이언트 연결 끊김 등. 커서는 이미 닫혔다
+			throw e.getCause();
+		}
+		writer.flush();
+	}
+
+	private void writeCsv(AdminOrderSearchCond cond, Writer writer) throws IOException {
+		writer.write('\uFEFF');
+		writeCsvLine(writer, CSV_HEADER);
+
+		int[] rows = {0};
+		orderService.exportOrderLines(cond, row -> {
+			try {
+				writeCsvLine(writer,
+					row.orderNumber(),
+					row.orderDate().toString(),
+					row.orderStatus().getText(),
+					row.paymentType() != null ? row.paymentType().getText() : "",
+					row.buyerName(),
+					row.receiverName(),
+					row.receiverPhone(),
+					String.valueOf(row.finalPrice()),
+					String.valueOf(row.productId()),
+					row.productName(),
+					row.optionName(),
+					String.valueOf(row.quantity()),
+					String.valueOf(row.price()));
+				if (++rows[0] % FLUSH_ROWS == 0) {
+					writer.flush();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	private void writeNdjson(AdminOrderSearchCond cond, Writer writer) throws IOException {
+		OrderJson[] current = {null};
+		int[] orders = {0};
+		orderService.exportOrderLines(cond, row -> {
+			try {
+				if (current[0] != null && !current[0].orderId.equals(row.orderId())) {
+					writeJsonLine(writer, current[0]);
+					if (++orders[0] % FLUSH_ROWS == 0) {
+						writer.flush();
+					}
+					current[0] = null;
+				}
+				if (current[0] == null) {
+					current[0] = new OrderJson(row);
+				}
+				current[0].addLine(row);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		if (current[0] != null) {
+			writeJsonLine(writer, current[0]);
+		}
+	}
+
+	private void writeJsonLine(Writer writer, OrderJson order) throws IOException {
+		writer.write(objectMapper.writeValueAsString(order.body));
+		writer.write('\n');
+	}
+
+	private static void writeCsvLine(Writer writer, String... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) writer.write(',');
+			writer.write(csvValue(values[i]));
+		}
+		writer.write("\r\n");
+	}
+
+	// 구분자/따옴표/줄바꿈은 따옴표로 감싸고, 엑셀 수식으로 해석될 수 있는 값(탭, CR 로 시작하는 값 포함)은 앞에 ' 를 붙인다
+	static String csvValue(String value) {
+		if (value == null || value.isEmpty()) return "";
+		String escaped = value;
+		char first = value.charAt(0);
+		if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+			escaped = "'" + escaped;
+		}
+		if (escaped.indexOf(',') >= 0 || escaped.indexOf('"') >= 0
+			|| escaped.indexOf('\n') >= 0 || escaped.indexOf('\r') >= 0) {
+			escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+		}
+		return escaped;
+	}
+
+	// NDJSON 한 줄 (주문 한 건)
+	private static class OrderJson {
+		private final Long orderId;
+		private final Map<String, Object> body = new LinkedHashMap<>();
+		private final List<Map<String, Object>> lines = new ArrayList<>();
+
+		OrderJson(OrderExportRow row) {
+			this.orderId = row.orderId();
+			body.put("orderNumber", row.orderNumber());
+			body.put("orderDate", row.orderDate().toString());
+			body.put("orderStatus", row.orderStatus().name());
+			body.put("paymentType", row.paymentType() != null ? row.paymentType().name() : null);
+			body.put("buyerName", row.buyerName());
+			body.put("receiverName", row.receiverName());
+			body.put("receiverPhone", row.receiverPhone());
+			body.put("finalPrice", row.finalPrice());
+			body.put("lines", lines);
+		}
+
+		void addLine(OrderExportRow row) {
+			Map<String, Object> line = new LinkedHashMap<>();
+			line.put("productId", row.productId());
+			line.put("productName", row.productName());
+			line.put("optionName", row.optionName());
+			line.put("quantity", row.quantity());
+			line.put("price", row.price());
+			lines.add(line);
+		}
+	}
+}
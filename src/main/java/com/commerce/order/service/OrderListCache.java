@@ -0,0 +1,79 @@
+package com.commerce.order.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.commerce.common.template.CacheTemplate;
+import com.commerce.order.dto.OrderCursorPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 주문 목록 첫 페이지 캐시 (L1 + Redis).
+ *
+ * <p>주문 상태가 바뀌는 트랜잭션은 {@link #evictAfterCommit} 으로 해당 사용자 키를 커밋 후에 지운다.
+ * 커밋 전에 지우면 다른 요청이 아직 커밋되지 않은 이전 상태를 다시 적재할 수 있다.
+ * 커밋 직전에 읽은 값이 삭제 뒤에 저장되는 드문 경우는 TTL 로 정리된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderListCache {
+
+	// 캐시하는 첫 페이지 크기. 다른 크기 요청은 캐시를 거치지 않는다
+	public static final int PAGE_SIZE = 10;
+
+	private static final String PREFIX_KEY = "commerce:order:list";           // + ":" + userId
+	private static final String PREFIX_LOCK_KEY = "commerce:order:list-lock";
+	private static final Duration TTL = Duration.ofMinutes(10);
+	private static final long LOCK_TTL_MS = 300;
+
+	private final CacheTemplate cacheTemplate;
+
+	/**
+	 * 첫 페이지 조회. 반환 값은 여러 요청이 공유하므로 수정하면 안 된다.
+	 */
+	public OrderCursorPage getFirstPage(Long userId, Supplier<OrderCursorPage> loader) {
+		return cacheTemplate.execute(key(userId), PREFIX_LOCK_KEY + ":" + userId, LOCK_TTL_MS, TTL,
+			new TypeReference<OrderCursorPage>() {}, loader);
+	}
+
+	public void evictAfterCommit(Long userId) {
+		evictAfterCommit(Set.of(userId));
+	}
+
+	// 트랜잭션 밖에서 호출되면 바로 지운다
+	public void evictAfterCommit(Collection<Long> userIds) {
+		if (userIds.isEmpty()) return;
+
+		Set<Long> targets = Set.copyOf(userIds);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(targets);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(
+			new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evict(targets);
+				}
+			}
+		);
+	}
+
+	private void evict(Collection<Long> userIds) {
+		for (Long userId : userIds) {
+			cacheTemplate.delete(key(userId));
+		}
+	}
+
+	private static String key(Long userId) {
+		return PREFIX_KEY + ":" + userId;
+	}
+}
@@ -3,18 +3,25 @@ package com.commerce.order.service;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import com.commerce.common.exception.BusinessException;
 import com.commerce.common.exception.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
-import java.util.UUID;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.security.access.AccessDeniedException;
 import java.util.stream.Collectors;
 
 import com.commerce.common.util.ProductImageUtil;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -28,55 +35,119 @@ import com.commerce.order.domain.Orders;
 import com.commerce.product.domain.Product;
 import com.commerce.product.domain.ProductOption;
 import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderSearchKeywordType;
 import com.commerce.common.enums.OrderStatus;
 import com.commerce.common.enums.OrderType;
 import com.commerce.admin.dto.AdminOrderSearchCond;
+import com.commerce.order.dto.ArchivedOrderRow;
 import com.commerce.order.dto.OrderCartProductRow;
 import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.dto.OrderCursor;
+import com.commerce.order.dto.OrderCursorPage;
+import com.commerce.order.dto.OrderDetailResponseDTO;
+import com.commerce.order.dto.OrderExportRow;
 import com.commerce.order.dto.OrderHeaderRow;
 import com.commerce.order.dto.OrderItemRow;
+import com.commerce.order.dto.OrderMapper;
 import com.commerce.order.dto.OrderProductResponseDTO;
 import com.commerce.order.dto.OrderProductRow;
 import com.commerce.order.dto.OrderResponseDTO;
+import com.commerce.order.dto.OrderStatusChangeResult;
+import com.commerce.order.dto.OrderStatusRow;
 import com.commerce.product.dto.ProductMainImageRow;
 import com.commerce.cart.repository.CartProductRepository;
 import com.commerce.order.repository.OrderCartProductJdbcRepository;
+import com.commerce.order.repository.OrderJdbcRepository;
 import com.commerce.order.repository.OrderProductJdbcRepository;
 import com.commerce.order.repository.OrderProductRepository;
 import com.commerce.order.repository.OrderRepository;
 import com.commerce.product.repository.ProductOptionRepository;
 import com.commerce.product.repository.ProductRepository;
+import com.commerce.product.service.StockShardService;
+import com.commerce.common.support.id.OrderNumberGenerator;
 import com.commerce.common.util.SecurityUtil;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class OrderService {
 
 	private final OrderRepository orderRepository;
 	private final CartProductRepository cartProductRepository;
 	private final ProductOptionRepository productOptionRepository;
+	private final StockShardService stockShardService;
 	private final SecurityUtil securityUtil;
 	private final ProductRepository productRepository;
 	private final OrderProductRepository orderProductRepository;
 	private final OrderProductJdbcRepository orderProductJdbcRepository;
 	private final OrderCartProductJdbcRepository orderCartProductJdbcRepository;
 	private final ProductImageUtil productImageUtil;
+	private final OrderNumberGenerator orderNumberGenerator;
+	private final OrderListCache orderListCache;
+	private final OrderJdbcRepository orderJdbcRepository;
+	private final OrderArchiveService orderArchiveService;
+	private final OrderMapper orderMapper;
 
 
+	// 일괄 상태 변경 시 한 번에 잠그고 UPDATE 하는 주문 수
+	private static final int STATUS_CHANGE_CHUNK_SIZE = 500;
+
+	// MySQL ngram_token_size 기본값
+	private static final int NGRAM_TOKEN_SIZE = 2;
+
 	@Value("${app.image.default-path}")
 	private String imageDefaultPath;
 
-	// 주문 리스트 반환
-	public Page<OrderResponseDTO> findOrderList(User user, Pageable pageable) {
+	@Value("${app.admin.order-search.mode:fulltext}")
+	private String adminSearchMode;
+
+	/**
+	 * 주문 리스트 (keyset). cursor 가 null 이면 첫 페이지.
+	 * OFFSET 없이 (created_at, order_id) 위치부터 읽으므로 뒤 페이지도 비용이 같다.
+	 * 전체 건수는 withCount 일 때만 센다. 건수를 포함한 첫 페이지는 사용자별로 캐시한다 ({@link OrderListCache}).
+	 */
+	public OrderCursorPage findOrderListByCursor(User user, String cursor, int size, boolean withCount) {
+		boolean firstPage = cursor == null || cursor.isBlank();
+		if (firstPage && withCount && size == OrderListCache.PAGE_SIZE) {
+			return orderListCache.getFirstPage(user.getId(), () -> loadOrderList(user, null, size, true));
+		}
+		return loadOrderList(user, cursor, size, withCount);
+	}
+
+	private OrderCursorPage loadOrderList(User user, String cursor, int size, boolean withCount) {
+		// 다음 페이지 유무 확인용으로 하나 더 조회
+		Limit limit = Limit.of(size + 1);
+		List<OrderHeaderRow> headers;
+		if (cursor == null || cursor.isBlank()) {
+			headers = orderRepository.findOrderHeadersFirst(user, limit);
+			headers = orderArchiveService.mergeOrderHeaders(headers, user.getId(), null, null, size + 1);
+		} else {
+			OrderCursor after = OrderCursor.decode(cursor);
+			headers = orderRepository.findOrderHeadersAfter(user, after.createdAt(), after.orderId(), limit);
+			headers = orderArchiveService.mergeOrderHeaders(headers, user.getId(),
+				after.createdAt(), after.orderId(), size + 1);
+		}
+
+		String nextCursor = null;
+		if (headers.size() > size) {
+			headers = headers.subList(0, size);
+			nextCursor = OrderCursor.of(headers.get(size - 1)).encode();
+		}
 
-		// 주문 단위 페이징
-		Page<OrderHeaderRow> orderHeaders = orderRepository.findOrderHeaders(user, pageable);
-		List<OrderHeaderRow> headers = orderHeaders.getContent();
+		Long totalCount = withCount
+			? orderRepository.countByUser(user) + orderArchiveService.countByUser(user.getId())
+			: null;
+		return new OrderCursorPage(toOrderResponses(headers), nextCursor, totalCount);
+	}
+
+	// 주문 헤더에 아이템, 대표 이미지를 붙여 화면 DTO 로 변환. 헤더 순서 유지
+	private List<OrderResponseDTO> toOrderResponses(List<OrderHeaderRow> headers) {
 		if (headers.isEmpty()) {
-			return new PageImpl<>(List.of(), pageable, orderHeaders.getTotalElements());
+			return List.of();
 		}
 
 		// 주문 아이템 조회
@@ -84,7 +155,14 @@ public class OrderService {
 			.map(OrderHeaderRow::orderId)
 			.toList();
 
-		List<OrderItemRow> orderItemRows = orderProductRepository.findOrderItemsByOrderIds(orderIds);
+		List<OrderItemRow> orderItemRows = new ArrayList<>(orderProductRepository.findOrderItemsByOrderIds(orderIds));
+
+		// 원본에 품목이 없는 주문은 보관된 주문
+		Set<Long> hotOrderIds = orderItemRows.stream().map(OrderItemRow::orderId).collect(Collectors.toSet());
+		List<Long> archivedOrderIds = orderIds.stream().filter(id -> !hotOrderIds.contains(id)).toList();
+		if (!archivedOrderIds.isEmpty()) {
+			orderItemRows.addAll(orderArchiveService.findOrderItems(archivedOrderIds));
+		}
 
 
 		// 이미지 조회
@@ -105,7 +183,7 @@ public class OrderService {
 
 		//  orderId -> OrderResponseDTO. 헤더 기준으로 먼저 만들어 순서 보장
 		Map<Long, OrderResponseDTO> byOrderId = new LinkedHashMap<>();
-		for (OrderHeaderRow h : orderHeaders) {
+		for (OrderHeaderRow h : headers) {
 			byOrderId.put(
 				h.orderId(),
 				new OrderResponseDTO(
@@ -136,36 +214,190 @@ public class OrderService {
 				)
 			);
 		}
-		List<OrderResponseDTO> result = new ArrayList<>(byOrderId.values());
-
-		return new PageImpl<>(result, pageable, orderHeaders.getTotalElements());
+		return new ArrayList<>(byOrderId.values());
 	}
 
 	// 주문 삭제
+	@Transactional
 	public void deleteOrderByOrderNumber(String orderNumber) {
-		orderRepository.deleteByOrderNumber(orderNumber);
+		orderRepository.findByOrderNumber(orderNumber).ifPresent(order -> {
+			orderRepository.delete(order);
+			orderListCache.evictAfterCommit(order.getUser().getId());
+		});
 	}
 
-	// 주문 상태 변경
+	/**
+	 * 관리자 일괄 상태 변경. {@link OrderStatus#adminAllowedFrom()} 전이표에 맞는 주문만 바꾼다.
+	 * CHUNK_SIZE 개씩 주문 행을 잠가 현재 상태를 확인하고, UPDATE ... WHERE order_id IN (..) AND order_status IN (..)
+	 * 한 문장으로 변경한다. 없는 주문과 허용되지 않는 상태의 주문은 사유와 함께 결과에 담는다.
+	 */
 	@Transactional
-	public void changeStatus(List<Long> orderIds,OrderStatus status) {
-		List<Orders> orders = orderRepository.findAllById(orderIds);
-		for (Orders order : orders) {
-			order.setOrderStatus(status);
+	public OrderStatusChangeResult changeStatus(List<Long> orderIds, OrderStatus status) {
+		Set<OrderStatus> allowedFrom = status.adminAllowedFrom();
+		if (allowedFrom.isEmpty()) {
+			throw new BusinessException("변경할 수 없는 주문 상태입니다: " + status.getText(), HttpStatus.BAD_REQUEST);
 		}
+
+		List<Long> distinctIds = orderIds.stream().filter(Objects::nonNull).distinct().toList();
+		List<Long> changed = new ArrayList<>();
+		List<OrderStatusChangeResult.Skipped> skipped = new ArrayList<>();
+		Set<Long> userIds = new HashSet<>();
+
+		for (int from = 0; from < distinctIds.size(); from += STATUS_CHANGE_CHUNK_SIZE) {
+			List<Long> chunk = distinctIds.subList(from, Math.min(from + STATUS_CHANGE_CHUNK_SIZE, distinctIds.size()));
+			Map<Long, OrderStatusRow> rows = orderJdbcRepository.lockStatuses(chunk).stream()
+				.collect(Collectors.toMap(OrderStatusRow::orderId, r -> r));
+
+			List<Long> targets = new ArrayList<>();
+			for (Long id : chunk) {
+				OrderStatusRow row = rows.get(id);
+				if (row == null) {
+					skipped.add(new OrderStatusChangeResult.Skipped(id, null, OrderStatusChangeResult.SkipReason.NOT_FOUND));
+				} else if (!allowedFrom.contains(row.orderStatus())) {
+					skipped.add(new OrderStatusChangeResult.Skipped(id, row.orderStatus(),
+						OrderStatusChangeResult.SkipReason.NOT_ALLOWED));
+				} else {
+					targets.add(id);
+					if (row.userId() != null) userIds.add(row.userId());
+				}
+			}
+
+			// 잠근 상태에서 확인했으므로 targets 모두 변경된다
+			orderJdbcRepository.updateStatus(targets, allowedFrom, status);
+			changed.addAll(targets);
+		}
+
+		orderListCache.evictAfterCommit(userIds);
+		return new OrderStatusChangeResult(status, changed, skipped);
 	}
 
+	/**
+	 * 관리자 주문 검색. app.admin.order-search.mode 가 fulltext 면 검색어 분류별 인덱스로 조회하고,
+	 * like 이거나 검색어가 ngram 토큰보다 짧으면 기존 LIKE 검색을 사용한다.
+	 * full-text 인덱스가 없는 DB(indexes.sql 미적용)에서는 LIKE 검색으로 대신한다.
+	 */
 	public Page<Orders> getOrderList(AdminOrderSearchCond cond, Pageable pageable) {
-		LocalDateTime start = null;
-		LocalDateTime end = null;
-		if (cond.getStartDate() != null) {
-			start = cond.getStartDate().atTime(LocalTime.MIN);
+		LocalDateTime start = startOf(cond);
+		LocalDateTime end = endOf(cond);
+
+		String keyword = cond.getKeyword() != null ? cond.getKeyword().trim() : null;
+		if (keyword != null && !keyword.isEmpty() && "fulltext".equals(adminSearchMode)) {
+			OrderSearchKeywordType type = OrderSearchKeywordType.classify(keyword);
+			String term = searchTerm(type, keyword);
+			if (term != null) {
+				try {
+					return searchAdminOrdersIndexed(type, term, start, end, cond, pageable);
+				} catch (BadSqlGrammarException e) {
+					log.warn("관리자 주문 full-text 검색 불가, LIKE 검색으로 대신함 (indexes.sql 확인). {}", e.getMessage());
+				}
+			}
+		}
+
+		return orderRepository.searchAdminOrders(keyword == null || keyword.isEmpty() ? null : keyword,
+			start, end, cond.getOrderStatus(), cond.getPaymentType(), pageable);
+	}
+
+	private Page<Orders> searchAdminOrdersIndexed(OrderSearchKeywordType type, String term,
+		LocalDateTime start, LocalDateTime end, AdminOrderSearchCond cond, Pageable pageable) {
+
+		long total = orderJdbcRepository.countAdminOrders(type, term, start, end,
+			cond.getOrderStatus(), cond.getPaymentType());
+		if (total == 0 || pageable.getOffset() >= total) {
+			return new PageImpl<>(List.of(), pageable, total);
+		}
+
+		List<Long> ids = orderJdbcRepository.searchAdminOrderIds(type, term, start, end,
+			cond.getOrderStatus(), cond.getPaymentType(), pageable.getOffset(), pageable.getPageSize());
+
+		// 검색 결과 순서(최신순)대로 정렬
+		Map<Long, Orders> byId = orderRepository.findAllWithUserByIdIn(ids).stream()
+			.collect(Collectors.toMap(Orders::getId, o -> o));
+		List<Orders> content = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+		return new PageImpl<>(content, pageable, total);
+	}
+
+	/**
+	 * 관리자 주문 내보내기. 주문 목록 검색과 같은 조건의 주문 품목을 최신 주문순으로 한 행씩 handler 에 넘긴다.
+	 * 결과를 모으지 않고 DB 커서에서 바로 넘기므로 건수와 관계없이 메모리 사용이 일정하다.
+	 * full-text 인덱스가 없어 실패하면 (아직 넘긴 행이 없으므로) LIKE 검색으로 다시 조회한다.
+	 */
+	public void exportOrderLines(AdminOrderSearchCond cond, Consumer<OrderExportRow> handler) {
+		LocalDateTime start = startOf(cond);
+		LocalDateTime end = endOf(cond);
+
+		String keyword = cond.getKeyword() != null ? cond.getKeyword().trim() : null;
+		if (keyword != null && keyword.isEmpty()) {
+			keyword = null;
 		}
-		if (cond.getEndDate() != null) {
-			end = cond.getEndDate().atTime(LocalTime.MAX);
+		if (keyword != null && "fulltext".equals(adminSearchMode)) {
+			OrderSearchKeywordType type = OrderSearchKeywordType.classify(keyword);
+			String term = searchTerm(type, keyword);
+			if (term != null) {
+				try {
+					orderJdbcRepository.streamAdminOrderLines(type, term, start, end,
+						cond.getOrderStatus(), cond.getPaymentType(), handler);
+					return;
+				} catch (BadSqlGrammarException e) {
+					log.warn("관리자 주문 full-text 검색 불가, LIKE 검색으로 내보냄 (indexes.sql 확인). {}", e.getMessage());
+				}
+			}
+		}
+
+		orderJdbcRepository.streamAdminOrderLines(null, keyword, start, end,
+			cond.getOrderStatus(), cond.getPaymentType(), handler);
+	}
+
+	private static LocalDateTime startOf(AdminOrderSearchCond cond) {
+		return cond.getStartDate() != null ? cond.getStartDate().atTime(LocalTime.MIN) : null;
+	}
+
+	private static LocalDateTime endOf(AdminOrderSearchCond cond) {
+		return cond.getEndDate() != null ? cond.getEndDate().atTime(LocalTime.MAX) : null;
+	}
+
+	// 분류별 검색 값. ngram 토큰보다 짧아 full-text 로 찾을 수 없으면 null
+	private static String searchTerm(OrderSearchKeywordType type, String keyword) {
+		return switch (type) {
+			case ORDER_NUMBER -> keyword;
+			case PHONE_SUFFIX -> keyword;
+			case TEXT -> {
+				// boolean mode 연산자를 지우고 구문 검색 (ngram 이 연속된 토큰으로 일치 확인)
+				String cleaned = keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim();
+				yield cleaned.replace(" ", "").length() < NGRAM_TOKEN_SIZE ? null : "\"" + cleaned + "\"";
+			}
+		};
+	}
+
+	/**
+	 * 사용자 주문 상세. 원본에 없으면 보관 테이블에서 찾는다.
+	 * 타인의 주문 번호를 직접 입력하는 경우를 막기 위해 주문 소유자와 현재 사용자가 일치하는지 검증한다.
+	 */
+	public OrderDetailResponseDTO findOrderDetail(String orderNumber, User currentUser) {
+		Optional<Orders> order = orderRepository.findByOrderNumber(orderNumber);
+		if (order.isPresent()) {
+			checkOwner(order.get().getUser().getId(), currentUser);
+			return orderMapper.toOrderDetailResponseDTO(order.get(), currentUser);
+		}
+
+		ArchivedOrderRow archived = orderArchiveService.findByOrderNumber(orderNumber)
+			.orElseThrow(() -> new EntityNotFoundException("해당 주문이 존재하지 않습니다."));
+		checkOwner(archived.userId(), currentUser);
+
+		List<OrderItemRow> items = orderArchiveService.findOrderItems(List.of(archived.orderId()));
+		List<Long> productIds = items.stream().map(OrderItemRow::productId).distinct().toList();
+		Map<Long, String> mainUrlByProductId = productRepository.findMainImages(productIds).stream()
+			.collect(Collectors.toMap(
+				ProductMainImageRow::productId,
+				r -> productImageUtil.getImageUrl(r.storeFileName()),
+				(a, b) -> a));
+		productIds.forEach(id -> mainUrlByProductId.putIfAbsent(id, imageDefaultPath));
+		return orderMapper.toOrderDetailResponseDTO(archived, items, mainUrlByProductId, currentUser);
+	}
+
+	private static void checkOwner(Long ownerId, User currentUser) {
+		if (ownerId == null || !ownerId.equals(currentUser.getId())) {
+			throw new AccessDeniedException("접근 권한이 없습니다.");
 		}
-		return orderRepository.searchAdminOrders(cond.getKeyword(), start, end,
-			cond.getOrderStatus(), cond.getPaymentType(), pageable);
 	}
 
 	public Orders findByOrderNumber(String orderNumber) {
@@ -212,7 +444,9 @@ public class OrderService {
 
 		orders.getOrderProducts().add(orderProduct);
 
-		return orderRepository.save(orders);
+		orders = orderRepository.save(orders);
+		orderListCache.evictAfterCommit(orders.getUser().getId());
+		return orders;
 	}
 
 	@Transactional
@@ -256,6 +490,7 @@ public class OrderService {
 
 		orderProductJdbcRepository.batchInsert(orderProductRows);
 		orderCartProductJdbcRepository.batchInsert(orderCartProductRows);
+		orderListCache.evictAfterCommit(orders.getUser().getId());
 
 		return orders; // 이 객체에서 orderProduct, orderCartProduct 사용하면 안됨.
 	}
@@ -280,7 +515,7 @@ public class OrderService {
 		Orders orders = Orders
 			.builder()
 			.receiverAddress(dto.getAddress())
-			.orderNumber(UUID.randomUUID().toString().replace("-", ""))
+			.orderNumber(orderNumberGenerator.next())
 			.orderAddressDetail(dto.getAddressDetail())
 			.orderName(orderName)
 			.receiverName(dto.getName())
@@ -305,19 +540,20 @@ public class OrderService {
 		return sum;
 	}
 
-	private static void validateStock(List<CartProduct> cartProducts) {
+	private void validateStock(List<CartProduct> cartProducts) {
 		for (CartProduct cartProduct : cartProducts) {
 			validateStock(cartProduct.getProduct(), cartProduct.getProductOption(), cartProduct.getQuantity());
 		}
 	}
 
-	private static void validateStock(Product product, ProductOption option, int quantity) {
+	// 샤딩된 재고는 버킷 합으로 검증
+	private void validateStock(Product product, ProductOption option, int quantity) {
 		if (option != null) {
-			if (option.getStock() - quantity < 0) {
+			if (stockShardService.availableStock(option) - quantity < 0) {
 				throw new BusinessException("재고가 부족합니다. (옵션: " + option.getName() + ")", HttpStatus.BAD_REQUEST);
 			}
 		} else {
-			if (product.getStock() - quantity < 0) {
+			if (stockShardService.availableStock(product) - quantity < 0) {
 				throw new BusinessException("재고가 부족합니다.", HttpStatus.BAD_REQUEST);
 			}
 		}
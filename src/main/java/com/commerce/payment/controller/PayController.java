@@ -8,6 +8,7 @@ import com.commerce.common.exception.BusinessException;
 import com.commerce.common.exception.EntityNotFoundException;
 import com.commerce.product.domain.ProductOption;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.commerce.cart.domain.CartProduct;
 import com.commerce.product.domain.DeliveryPolicy;
@@ -69,6 +71,12 @@ public class PayController {
 	public String success(@RequestParam("orderId") String orderNumber, Model model) {
 
 		Orders order = orderService.findByOrderNumber(orderNumber);
+
+		// 주문번호는 추측 가능하므로(Snowflake) 본인 주문인지 확인
+		if (!order.getUser().getId().equals(securityUtil.getCurrentUser().getId())) {
+			throw new AccessDeniedException("접근 권한이 없습니다.");
+		}
+
 		LocalDateTime time = order.getApprovedAt();
 		String approvedAtText = time != null
 			? time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
@@ -152,10 +160,13 @@ public class PayController {
 	public String cancel(@PathVariable String orderNumber, Model model) {
 
 		String cancelReason = "단순 변심";
+		Long userId = securityUtil.getCurrentUser().getId();
 
 		try {
-			CancelResponseDTO dto = payService.cancel(orderNumber, cancelReason);
+			CancelResponseDTO dto = payService.cancel(orderNumber, cancelReason, userId);
 			model.addAttribute("result", dto);
+		} catch (ResponseStatusException e) {
+			throw e;
 		} catch (IllegalStateException e) {
 			model.addAttribute("result",
 				new CancelResponseDTO(false, orderNumber, null, 0, null, e.getMessage()));
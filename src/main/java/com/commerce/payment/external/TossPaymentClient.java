@@ -40,6 +40,24 @@ public class TossPaymentClient {
 		return jsonNode;
 	}
 
+	/**
+	 * 주문 번호로 결제 조회. 결제가 없으면 null
+	 */
+	public JsonNode findByOrderId(String orderNumber) {
+		try {
+			return tossWebClient.get()
+				.uri("/v1/payments/orders/{orderId}", orderNumber)
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				.block();
+		} catch (WebClientResponseException.NotFound e) {
+			return null;
+		} catch (WebClientResponseException e) {
+			log.error("toss payment lookup failed: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString(), e);
+			throw new ResponseStatusException(e.getStatusCode(), "토스 결제 조회 실패");
+		}
+	}
+
 	public JsonNode confirm(PayConfirmDTO req) {
 		JsonNode tossResponse;
 		try{
@@ -0,0 +1,184 @@
+package com.commerce.payment.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.support.RedisDistributedLockProvider;
+import com.commerce.order.dto.ExpiredOrderRow;
+import com.commerce.order.repository.OrderJdbcRepository;
+import com.commerce.payment.external.TossPaymentClient;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료 주문 정리. 여러 노드 중 락을 잡은 하나만 실행한다.
+ *
+ * <p>READY: 결제창에서 이탈한 주문. {@code ready-ttl-ms} 가 지나면 CANCELED (재고 차감 전이라 상태만 변경).
+ * <p>PAYMENT_PENDING: 재고 차감 후 승인 반영 전에 노드가 멈춘 주문. {@code pending-ttl-ms} 가 지나면 토스에
+ * 결제를 조회해 승인된 결제는 PAID 로 반영하고, 결제가 없거나 끝나지 않은 주문은 배치 단위로 재고를 복원하고 CANCELED.
+ * 조회에 실패하거나 입금 대기 등 판단할 수 없는 주문은 건너뛴다.
+ *
+ * <p>마지막 변경 시각(updated_at, order_id) keyset 으로 batch-size 개씩, 회차당 최대 max-batches 번 처리한다.
+ * 락이 만료돼 다른 노드가 함께 돌지 않도록 회차는 락 TTL 보다 짧은 {@link #MAX_SWEEP_MS} 안에서 끝낸다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExpirySweeper {
+
+	private static final String LOCK_KEY = "commerce:order:expiry:lock";
+	private static final long LOCK_TTL_MS = 5 * 60 * 1000;
+	// 회차 처리 시간 상한. 넘으면 남은 주문은 다음 회차로 넘긴다 (마지막 배치 취소 시간 여유 1분)
+	private static final long MAX_SWEEP_MS = LOCK_TTL_MS - 60 * 1000;
+
+	private static final String TOSS_DONE = "DONE";
+	// 승인되지 않고 끝난(또는 승인 요청 전) 결제
+	private static final Set<String> TOSS_NOT_PAID = Set.of("READY", "IN_PROGRESS", "ABORTED", "EXPIRED", "CANCELED");
+
+	private final OrderJdbcRepository orderJdbcRepository;
+	private final PaymentTxService paymentTxService;
+	private final TossPaymentClient tossPaymentClient;
+	private final RedisDistributedLockProvider distributedLockProvider;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${app.order.expiry.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.order.expiry.ready-ttl-ms:1800000}")
+	private long readyTtlMs;
+
+	@Value("${app.order.expiry.pending-ttl-ms:900000}")
+	private long pendingTtlMs;
+
+	@Value("${app.order.expiry.batch-size:200}")
+	private int batchSize;
+
+	@Value("${app.order.expiry.max-batches:50}")
+	private int maxBatches;
+
+	private final Map<OrderStatus, AtomicLong> backlog = Map.of(
+		OrderStatus.READY, new AtomicLong(),
+		OrderStatus.PAYMENT_PENDING, new AtomicLong());
+
+	@PostConstruct
+	void registerMetrics() {
+		backlog.forEach((status, value) -> Gauge.builder("app.order.expiry.backlog", value, AtomicLong::get)
+			.description("회차 종료 시점에 남은 만료 주문 수")
+			.tag("status", tag(status))
+			.register(meterRegistry));
+	}
+
+	@Scheduled(fixedDelayString = "${app.order.expiry.sweep-interval-ms:60000}",
+		initialDelayString = "${app.order.expiry.sweep-interval-ms:60000}")
+	public void sweep() {
+		if (!enabled) return;
+
+		String token = distributedLockProvider.tryLock(LOCK_KEY, LOCK_TTL_MS);
+		if (token == null) return;
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			LocalDateTime readyCutoff = now.minusNanos(readyTtlMs * 1_000_000);
+			LocalDateTime pendingCutoff = now.minusNanos(pendingTtlMs * 1_000_000);
+			long deadline = System.currentTimeMillis() + MAX_SWEEP_MS;
+
+			sweep(OrderStatus.READY, readyCutoff, deadline);
+			sweep(OrderStatus.PAYMENT_PENDING, pendingCutoff, deadline);
+
+			backlog.get(OrderStatus.READY).set(orderJdbcRepository.countExpired(OrderStatus.READY, readyCutoff));
+			backlog.get(OrderStatus.PAYMENT_PENDING)
+				.set(orderJdbcRepository.countExpired(OrderStatus.PAYMENT_PENDING, pendingCutoff));
+		} catch (Exception e) {
+			log.warn("만료 주문 정리 실패", e);
+		} finally {
+			sample.stop(meterRegistry.timer("app.order.expiry.sweep"));
+			distributedLockProvider.unlock(LOCK_KEY, token);
+		}
+	}
+
+	private void sweep(OrderStatus status, LocalDateTime cutoff, long deadline) {
+		LocalDateTime afterUpdatedAt = null;
+		Long afterId = null;
+		int canceled = 0;
+
+		for (int i = 0; i < maxBatches && System.currentTimeMillis() < deadline; i++) {
+			List<ExpiredOrderRow> rows = orderJdbcRepository.findExpired(status, cutoff, afterUpdatedAt, afterId, batchSize);
+			if (rows.isEmpty()) break;
+
+			int count = status == OrderStatus.READY
+				? paymentTxService.cancelExpiredReady(rows.stream().map(ExpiredOrderRow::orderId).toList())
+				: cancelPaymentPending(rows, deadline);
+			canceled += count;
+			meterRegistry.counter("app.order.expiry.canceled", "status", tag(status)).increment(count);
+
+			ExpiredOrderRow last = rows.get(rows.size() - 1);
+			afterUpdatedAt = last.updatedAt();
+			afterId = last.orderId();
+			if (rows.size() < batchSize) break;
+		}
+
+		if (canceled > 0) {
+			log.info("만료 주문 취소. status={}, canceled={}", status, canceled);
+		}
+	}
+
+	// 토스에서 승인된 주문은 PAID 로 반영하고 나머지만 취소. 시간 상한을 넘으면 남은 주문은 다음 회차에 조회
+	private int cancelPaymentPending(List<ExpiredOrderRow> rows, long deadline) {
+		List<Long> cancelIds = new ArrayList<>();
+		for (ExpiredOrderRow row : rows) {
+			if (System.currentTimeMillis() >= deadline) break;
+
+			JsonNode payment;
+			try {
+				payment = tossPaymentClient.findByOrderId(row.orderNumber());
+			} catch (Exception e) {
+				log.warn("만료 주문 결제 조회 실패, 건너뜀. orderNumber={}", row.orderNumber(), e);
+				meterRegistry.counter("app.order.expiry.skipped").increment();
+				continue;
+			}
+
+			String tossStatus = payment != null ? payment.path("status").asText() : null;
+			if (TOSS_DONE.equals(tossStatus)) {
+				recover(row, payment);
+			} else if (tossStatus == null || TOSS_NOT_PAID.contains(tossStatus)) {
+				cancelIds.add(row.orderId());
+			} else {
+				log.warn("만료 주문 결제 상태 확인 필요, 건너뜀. orderNumber={}, status={}", row.orderNumber(), tossStatus);
+				meterRegistry.counter("app.order.expiry.skipped").increment();
+			}
+		}
+		return paymentTxService.cancelExpiredPaymentPending(cancelIds);
+	}
+
+	private void recover(ExpiredOrderRow row, JsonNode payment) {
+		try {
+			paymentTxService.applyPaymentSuccess(row.orderNumber(), payment, row.userId(),
+				payment.path("paymentKey").asText());
+			meterRegistry.counter("app.order.expiry.recovered").increment();
+			log.info("승인된 결제를 만료 정리 중 반영. orderNumber={}", row.orderNumber());
+		} catch (IllegalStateException e) {
+			// 그 사이 다른 경로에서 처리됨
+			log.debug("이미 처리된 주문. orderNumber={}", row.orderNumber());
+		}
+	}
+
+	private static String tag(OrderStatus status) {
+		return status.name().toLowerCase();
+	}
+}
@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.*;
 
+import com.commerce.order.service.OrderListCache;
 import com.commerce.order.service.OrderService;
 
 @Service
@@ -41,10 +42,18 @@ public class PayService {
 	private final TossPaymentClient tossPaymentClient;
 	private final WebClient tossWebClient;
 	private final OrderRepository orderRepository;
+	private final StockDeductionBatcher stockDeductionBatcher;
+	private final OrderListCache orderListCache;
 
-	public CancelResponseDTO cancel(String orderNumber, String cancelReason) {
+	public CancelResponseDTO cancel(String orderNumber, String cancelReason, Long userId) {
 		Orders order = orderService.findByOrderNumber(orderNumber);
 
+		// 주문번호는 추측 가능하므로(Snowflake) 본인 주문인지 확인
+		if (!Objects.equals(order.getUser().getId(), userId)) {
+			log.warn("본인 주문이 아닙니다. orderNumber={}, orderUserId={}, userId={}", orderNumber, order.getUser().getId(), userId);
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인 주문이 아닙니다.");
+		}
+
 		// 1. 주문 잠금 + 상태 전이 (→ CANCEL_REQUESTED) - 동시 취소 요청 방지
 		String paymentKey = paymentTxService.beginCancel(order.getId());
 
@@ -83,8 +92,8 @@ public class PayService {
 		// 1. 검증
 		validatePayment(req, userId);
 
-		// 2. 재고 차감 (토스 호출 전)
-		paymentTxService.lockAndDeductStock(req.getOrderId());
+		// 2. 재고 차감 (토스 호출 전). 활성화되어 있으면 동시 요청을 모아 한 트랜잭션으로 처리
+		stockDeductionBatcher.deduct(req.getOrderId());
 
 		// 3. 토스 요청
 		long startTime = System.currentTimeMillis();
@@ -166,6 +175,7 @@ public class PayService {
 
 		// 6. 재고 차감, 장바구니 삭제, 결제 일시, 상태 변경
 		order.setOrderStatus(OrderStatus.PAID);
+		orderListCache.evictAfterCommit(userId);
 		order.setPaymentType(PaymentType.fromTossMethod(tossResponse.path("method").asText()));
 		order.setPaymentKey(req.getPaymentKey());
 
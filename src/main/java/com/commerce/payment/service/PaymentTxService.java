@@ -1,25 +1,41 @@
 package com.commerce.payment.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import com.commerce.common.exception.EntityNotFoundException;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.commerce.order.domain.OrderProduct;
 import com.commerce.order.domain.Orders;
 import com.commerce.common.enums.OrderStatus;
 import com.commerce.common.enums.OrderType;
 import com.commerce.common.enums.PaymentType;
+import com.commerce.common.enums.StockShardType;
 import com.commerce.cart.repository.CartProductRepository;
+import com.commerce.order.repository.OrderJdbcRepository;
 import com.commerce.order.repository.OrderProductRepository;
 import com.commerce.order.repository.OrderRepository;
+import com.commerce.order.service.OrderListCache;
+import com.commerce.product.domain.ProductOption;
 import com.commerce.product.repository.ProductJdbcRepository;
+import com.commerce.product.repository.StockShardJdbcRepository;
+import com.commerce.product.service.ProductRankingService;
+import com.commerce.product.service.ProductSalesDailyService;
+import com.commerce.product.service.StockReservationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import lombok.RequiredArgsConstructor;
@@ -33,7 +49,22 @@ public class PaymentTxService {
 	private final OrderRepository orderRepository;
 	private final CartProductRepository cartProductRepository;
 	private final OrderProductRepository orderProductRepository;
+	private final OrderJdbcRepository orderJdbcRepository;
 	private final ProductJdbcRepository productJdbcRepository;
+	private final StockShardJdbcRepository stockShardJdbcRepository;
+	private final ProductRankingService productRankingService;
+	private final ProductSalesDailyService productSalesDailyService;
+	private final StockReservationService stockReservationService;
+	private final OrderListCache orderListCache;
+
+	// 재고 차감 배치에서 주문별 결과
+	public enum DeductResult {
+		DEDUCTED,
+		SOLD_OUT,
+		NOT_FOUND,
+		ALREADY_PROCESSED,
+		FALLBACK            // 배치에서 처리하지 않음 (개별 트랜잭션으로 처리)
+	}
 
 	// 재고 수정
 	@Transactional
@@ -41,13 +72,83 @@ public class PaymentTxService {
 
 		List<OrderProduct> orderProducts = orderProductRepository.findOrderProductByOrderIdWithProduct(
 			orderId);
-		Map<Long, Integer> qtyByProductId = orderProducts.stream()
+		updateStock(orderProducts, isIncrease);
+	}
+
+	// 옵션 품목은 옵션 재고, 나머지는 상품 재고. 샤딩된 재고는 버킷에서 처리한다
+	// 항상 상품 -> 옵션 -> 버킷 순서로 락을 잡는다
+	private void updateStock(List<OrderProduct> orderProducts, boolean isIncrease) {
+		Map<Long, Integer> qtyByProductId = new HashMap<>();
+		Map<Long, Integer> qtyByOptionId = new HashMap<>();
+		Map<Long, Integer> shardedQtyByProductId = new TreeMap<>();
+		Map<Long, Integer> shardedQtyByOptionId = new TreeMap<>();
+
+		for (OrderProduct op : orderProducts) {
+			ProductOption option = op.getProductOption();
+			if (option != null) {
+				(option.isStockSharded() ? shardedQtyByOptionId : qtyByOptionId)
+					.merge(option.getId(), op.getQuantity(), Integer::sum);
+			} else {
+				(op.getProduct().isStockSharded() ? shardedQtyByProductId : qtyByProductId)
+					.merge(op.getProduct().getId(), op.getQuantity(), Integer::sum);
+			}
+		}
+
+		productJdbcRepository.updateStock(qtyByProductId, isIncrease);
+		productJdbcRepository.updateOptionStock(qtyByOptionId, isIncrease);
+		shardedQtyByProductId.forEach((id, qty) -> updateShardStock(StockShardType.PRODUCT, id, qty, isIncrease));
+		shardedQtyByOptionId.forEach((id, qty) -> updateShardStock(StockShardType.OPTION, id, qty, isIncrease));
+	}
+
+	private void updateShardStock(StockShardType type, Long id, int qty, boolean isIncrease) {
+		if (!isIncrease) {
+			stockShardJdbcRepository.deduct(type, id, qty);
+			return;
+		}
+
+		// 그 사이 샤딩이 해제됐으면 원래 행으로 복원
+		if (!stockShardJdbcRepository.increase(type, id, qty)) {
+			if (type == StockShardType.PRODUCT) {
+				productJdbcRepository.updateStock(Map.of(id, qty), true);
+			} else {
+				productJdbcRepository.updateOptionStock(Map.of(id, qty), true);
+			}
+		}
+	}
+
+	// 재고 복원 후 커밋되면 Redis 예약도 되돌린다
+	private void restoreStock(Long orderId) {
+		List<OrderProduct> orderProducts = orderProductRepository.findOrderProductByOrderIdWithProduct(orderId);
+		releaseReservationAfterCommit(reservationQuantities(orderProducts));
+		updateStock(orderProducts, true);
+	}
+
+	// DB 재고 복원 전에 진행 중으로 표시하고, 커밋되면 카운터를 되돌린다 (롤백되면 표시만 지운다)
+	private void releaseReservationAfterCommit(Map<String, Integer> reservation) {
+		stockReservationService.hold(reservation);
+		TransactionSynchronizationManager.registerSynchronization(
+			new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) {
+						stockReservationService.release(reservation);
+					} else {
+						stockReservationService.settle(reservation);
+					}
+				}
+			}
+		);
+	}
+
+	// Redis 재고 예약 단위 (재고 키 별 수량). DB 차감 단위와 같아야 한다
+	private Map<String, Integer> reservationQuantities(List<OrderProduct> orderProducts) {
+		return orderProducts.stream()
 			.collect(Collectors.groupingBy(
-				op -> op.getProduct().getId(),
+				op -> op.getProductOption() != null
+					? StockReservationService.optionKey(op.getProductOption().getId())
+					: StockReservationService.productKey(op.getProduct().getId()),
 				Collectors.summingInt(OrderProduct::getQuantity)
 			));
-
-		productJdbcRepository.updateStock(qtyByProductId, isIncrease);
 	}
 
 	// 취소 시작: 주문 잠금 + CANCEL_REQUESTED 전이 (동시 취소 요청 방지)
@@ -62,6 +163,7 @@ public class PaymentTxService {
 		}
 
 		order.setOrderStatus(OrderStatus.CANCEL_REQUESTED);
+		evictOrderList(order);
 		return order.getPaymentKey();
 	}
 
@@ -77,8 +179,19 @@ public class PaymentTxService {
 		}
 
 		order.setOrderStatus(OrderStatus.CANCELED);
+		evictOrderList(order);
 		if (restoreStock) {
-			updateStock(orderId, true);
+			restoreStock(orderId);
+		}
+
+		// 결제 완료됐던 주문이면 커밋 후 일별 판매량, 판매 랭킹에서 차감
+		if (order.getApprovedAt() != null) {
+			LocalDate salesDate = order.getApprovedAt().toLocalDate();
+			Map<Long, Integer> qtyByProductId = quantityByProductId(order);
+			afterCommit(() -> {
+				applySalesDaily(() -> productSalesDailyService.decrement(salesDate, qtyByProductId));
+				productRankingService.decrement(salesDate, qtyByProductId);
+			});
 		}
 	}
 
@@ -90,6 +203,7 @@ public class PaymentTxService {
 
 		if (order.getOrderStatus() == OrderStatus.CANCEL_REQUESTED) {
 			order.setOrderStatus(OrderStatus.PAID);
+			evictOrderList(order);
 		}
 	}
 
@@ -126,6 +240,17 @@ public class PaymentTxService {
 
 		// 주문 상태 변경
 		order.setOrderStatus(OrderStatus.PAID);
+		evictOrderList(order);
+
+		// 커밋 후 일별 판매량, 판매 랭킹 반영 (결제일 기준)
+		if (approvedAt != null) {
+			LocalDate salesDate = approvedAt.toLocalDate();
+			Map<Long, Integer> qtyByProductId = quantityByProductId(order);
+			afterCommit(() -> {
+				applySalesDaily(() -> productSalesDailyService.increment(salesDate, qtyByProductId));
+				productRankingService.increment(salesDate, qtyByProductId);
+			});
+		}
 
 
 		// 장바구니 삭제
@@ -147,14 +272,241 @@ public class PaymentTxService {
 		}
 
 		order.setOrderStatus(OrderStatus.PAYMENT_PENDING);
-		updateStock(order.getId(), false);
+		evictOrderList(order);
+
+		// Redis 에서 먼저 예약. 품절이면 재고 행 락을 잡지 않고 거절
+		List<OrderProduct> orderProducts = orderProductRepository.findOrderProductByOrderIdWithProduct(order.getId());
+		Map<String, Integer> reservation = reservationQuantities(orderProducts);
+		StockReservationService.Result result = stockReservationService.reserve(reservation);
+		if (result == StockReservationService.Result.SOLD_OUT) {
+			throw new IllegalStateException("재고 부족 - rollback");
+		}
+		if (result == StockReservationService.Result.RESERVED) {
+			// DB 차감이 커밋되면 예약 확정, 실패 등으로 롤백되면 예약 취소
+			TransactionSynchronizationManager.registerSynchronization(
+				new TransactionSynchronization() {
+					@Override
+					public void afterCompletion(int status) {
+						if (status == STATUS_COMMITTED) {
+							stockReservationService.settle(reservation);
+						} else {
+							stockReservationService.release(reservation);
+						}
+					}
+				}
+			);
+		}
+
+		updateStock(orderProducts, false);
+	}
+
+	/**
+	 * 여러 주문의 재고를 한 트랜잭션에서 차감한다 (StockDeductionBatcher).
+	 * 재고 행을 상품 -> 옵션 id 순서로 한 번에 잠그고, 도착 순서대로 주문 단위(모든 품목 또는 없음)로 배분한 뒤
+	 * 합산 수량으로 UPDATE 를 한 번씩 실행한다. 재고가 모자란 주문만 SOLD_OUT 이 되고 나머지는 커밋된다.
+	 * 샤딩된 재고가 있는 주문은 FALLBACK 으로 돌려 개별 경로에서 처리한다.
+	 */
+	@Transactional
+	public Map<String, DeductResult> lockAndDeductStockBatch(List<String> orderNumbers) {
+		Map<String, DeductResult> results = new LinkedHashMap<>();
+		Map<String, Orders> ordersByNumber = orderRepository.findAllByOrderNumberInWithLock(orderNumbers).stream()
+			.collect(Collectors.toMap(Orders::getOrderNumber, o -> o));
+		Map<Long, List<OrderProduct>> linesByOrderId = orderProductRepository
+			.findOrderProductByOrderIdsWithProduct(ordersByNumber.values().stream().map(Orders::getId).toList())
+			.stream()
+			.collect(Collectors.groupingBy(op -> op.getOrder().getId()));
+
+		// 1. 주문 상태 확인, Redis 예약
+		Map<String, Map<String, Integer>> reservations = new HashMap<>();
+		List<Orders> candidates = new ArrayList<>();
+		for (String orderNumber : orderNumbers) {
+			Orders order = ordersByNumber.get(orderNumber);
+			if (order == null) {
+				results.put(orderNumber, DeductResult.NOT_FOUND);
+				continue;
+			}
+			if (order.getOrderStatus() != OrderStatus.READY) {
+				results.put(orderNumber, DeductResult.ALREADY_PROCESSED);
+				continue;
+			}
+
+			List<OrderProduct> lines = linesByOrderId.getOrDefault(order.getId(), List.of());
+			if (lines.stream().anyMatch(PaymentTxService::isStockSharded)) {
+				results.put(orderNumber, DeductResult.FALLBACK);
+				continue;
+			}
+
+			Map<String, Integer> reservation = reservationQuantities(lines);
+			StockReservationService.Result reserved = stockReservationService.reserve(reservation);
+			if (reserved == StockReservationService.Result.SOLD_OUT) {
+				results.put(orderNumber, DeductResult.SOLD_OUT);
+				continue;
+			}
+			if (reserved == StockReservationService.Result.RESERVED) {
+				reservations.put(orderNumber, reservation);
+			}
+			candidates.add(order);
+		}
+
+		// 2. 재고 행 잠금 후 도착 순서대로 배분
+		Map<Long, Integer> productStocks = productJdbcRepository.lockStocks(candidates.stream()
+			.flatMap(o -> linesByOrderId.get(o.getId()).stream())
+			.filter(op -> op.getProductOption() == null)
+			.map(op -> op.getProduct().getId())
+			.collect(Collectors.toCollection(TreeSet::new)));
+		Map<Long, Integer> optionStocks = productJdbcRepository.lockOptionStocks(candidates.stream()
+			.flatMap(o -> linesByOrderId.get(o.getId()).stream())
+			.filter(op -> op.getProductOption() != null)
+			.map(op -> op.getProductOption().getId())
+			.collect(Collectors.toCollection(TreeSet::new)));
+
+		Map<Long, Integer> qtyByProductId = new HashMap<>();
+		Map<Long, Integer> qtyByOptionId = new HashMap<>();
+		List<Long> deductedUserIds = new ArrayList<>();
+		for (Orders order : candidates) {
+			List<OrderProduct> lines = linesByOrderId.get(order.getId());
+			Map<Long, Integer> productQty = productQuantities(lines);
+			Map<Long, Integer> optionQty = optionQuantities(lines);
+
+			if (!fits(productStocks, productQty) || !fits(optionStocks, optionQty)) {
+				results.put(order.getOrderNumber(), DeductResult.SOLD_OUT);
+				continue;
+			}
+			productQty.forEach((id, qty) -> {
+				productStocks.merge(id, -qty, Integer::sum);
+				qtyByProductId.merge(id, qty, Integer::sum);
+			});
+			optionQty.forEach((id, qty) -> {
+				optionStocks.merge(id, -qty, Integer::sum);
+				qtyByOptionId.merge(id, qty, Integer::sum);
+			});
+			order.setOrderStatus(OrderStatus.PAYMENT_PENDING);
+			deductedUserIds.add(order.getUser().getId());
+			results.put(order.getOrderNumber(), DeductResult.DEDUCTED);
+		}
+
+		// 3. 합산 수량으로 차감 (상품, 옵션 각각 한 문장)
+		productJdbcRepository.updateStock(qtyByProductId, false);
+		productJdbcRepository.updateOptionStock(qtyByOptionId, false);
+		orderListCache.evictAfterCommit(deductedUserIds);
+
+		// 차감하지 못했거나 롤백되면 예약 취소, 차감이 커밋되면 예약 확정
+		TransactionSynchronizationManager.registerSynchronization(
+			new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					reservations.forEach((orderNumber, reservation) -> {
+						if (status != STATUS_COMMITTED || results.get(orderNumber) != DeductResult.DEDUCTED) {
+							stockReservationService.release(reservation);
+						} else {
+							stockReservationService.settle(reservation);
+						}
+					});
+				}
+			}
+		);
+		return results;
+	}
+
+	private static boolean isStockSharded(OrderProduct op) {
+		return op.getProductOption() != null
+			? op.getProductOption().isStockSharded()
+			: op.getProduct().isStockSharded();
+	}
+
+	// 남은 재고로 주문 수량을 모두 차감할 수 있는지 (행이 없으면 부족)
+	private static boolean fits(Map<Long, Integer> stocks, Map<Long, Integer> qtyById) {
+		return qtyById.entrySet().stream()
+			.allMatch(e -> stocks.getOrDefault(e.getKey(), 0) >= e.getValue());
+	}
+
+	private static Map<Long, Integer> productQuantities(List<OrderProduct> lines) {
+		return lines.stream()
+			.filter(op -> op.getProductOption() == null)
+			.collect(Collectors.groupingBy(
+				op -> op.getProduct().getId(),
+				Collectors.summingInt(OrderProduct::getQuantity)
+			));
+	}
+
+	private static Map<Long, Integer> optionQuantities(List<OrderProduct> lines) {
+		return lines.stream()
+			.filter(op -> op.getProductOption() != null)
+			.collect(Collectors.groupingBy(
+				op -> op.getProductOption().getId(),
+				Collectors.summingInt(OrderProduct::getQuantity)
+			));
+	}
+
+	// 결제창에서 이탈해 만료된 주문 취소. 재고 차감 전이므로 상태만 바꾼다
+	@Transactional
+	public int cancelExpiredReady(List<Long> orderIds) {
+		int updated = orderJdbcRepository.updateStatus(orderIds, OrderStatus.READY, OrderStatus.CANCELED);
+		if (updated > 0) {
+			orderListCache.evictAfterCommit(orderJdbcRepository.findUserIds(orderIds));
+		}
+		return updated;
+	}
+
+	/**
+	 * 재고 차감 후 결제 승인 전에 멈춘 주문 취소.
+	 * 잠근 뒤에도 PAYMENT_PENDING 인 주문만 대상으로, 전체 품목 수량을 합쳐 재고를 한 번에 복원한다.
+	 */
+	@Transactional
+	public int cancelExpiredPaymentPending(List<Long> orderIds) {
+		List<Long> lockedIds = orderJdbcRepository.lockIdsByStatus(orderIds, OrderStatus.PAYMENT_PENDING);
+		if (lockedIds.isEmpty()) return 0;
+
+		List<OrderProduct> orderProducts = orderProductRepository.findOrderProductByOrderIdsWithProduct(lockedIds);
+		releaseReservationAfterCommit(reservationQuantities(orderProducts));
+		updateStock(orderProducts, true);
+		orderListCache.evictAfterCommit(orderJdbcRepository.findUserIds(lockedIds));
+
+		return orderJdbcRepository.updateStatus(lockedIds, OrderStatus.PAYMENT_PENDING, OrderStatus.CANCELED);
 	}
 
 	@Transactional
 	public void restoreStockOnTossFailure(String orderNumber) {
 		Orders order = orderRepository.findByOrderNumber(orderNumber)
 			.orElseThrow(() -> new EntityNotFoundException("해당 주문이 존재하지 않습니다."));
-		updateStock(order.getId(), true);
+		restoreStock(order.getId());
 		order.setOrderStatus(OrderStatus.CANCELED);
+		evictOrderList(order);
+	}
+
+	private Map<Long, Integer> quantityByProductId(Orders order) {
+		return order.getOrderProducts().stream()
+			.collect(Collectors.groupingBy(
+				op -> op.getProduct().getId(),
+				Collectors.summingInt(OrderProduct::getQuantity)
+			));
+	}
+
+	// 커밋 후 사용자 주문 목록 캐시 무효화
+	private void evictOrderList(Orders order) {
+		orderListCache.evictAfterCommit(order.getUser().getId());
+	}
+
+	/**
+	 * 일별 판매량 증감. 결제 트랜잭션 안에서 (상품, 날짜) 집계 행을 잠그면 인기 상품 결제가 그 행에서 직렬화되므로
+	 * 커밋 후 짧은 별도 트랜잭션으로 반영한다. 실패해도 결제는 그대로 두고 매일 재집계로 맞춘다
+	 */
+	private void applySalesDaily(Runnable action) {
+		try {
+			action.run();
+		} catch (Exception e) {
+			log.warn("일별 판매량 반영 실패. 재집계 때 맞춰진다", e);
+		}
+	}
+
+	private void afterCommit(Runnable action) {
+		TransactionSynchronizationManager.registerSynchronization(
+			new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			}
+		);
 	}
 }
@@ -0,0 +1,181 @@
+package com.commerce.payment.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.commerce.common.exception.EntityNotFoundException;
+import com.commerce.payment.service.PaymentTxService.DeductResult;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 결제 승인 전 재고 차감 group commit.
+ *
+ * <p>동시에 들어온 차감 요청을 {@code window-ms} 동안(또는 {@code max-size} 개까지) 모아
+ * {@link PaymentTxService#lockAndDeductStockBatch} 한 트랜잭션으로 처리한다.
+ * 인기 상품 행 락 획득과 커밋(fsync)을 여러 주문이 나눠 쓰게 된다.
+ * 호출자는 기존 {@link PaymentTxService#lockAndDeductStock} 과 같은 예외를 받는다.
+ * 배치 트랜잭션이 실패하면(데드락 등) 모두 롤백되고 각 요청을 개별 트랜잭션으로 다시 처리한다.
+ * 결과를 {@code wait-timeout-ms} 안에 받지 못하면 실패로 끝낸다 (늦게 차감돼도 만료 주문 정리에서 재고가 복원된다).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockDeductionBatcher {
+
+	private final PaymentTxService paymentTxService;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${app.stock.batch.enabled:false}")
+	private boolean enabled;
+
+	@Value("${app.stock.batch.window-ms:2}")
+	private long windowMs;
+
+	@Value("${app.stock.batch.max-size:32}")
+	private int maxSize;
+
+	@Value("${app.stock.batch.wait-timeout-ms:5000}")
+	private long waitTimeoutMs;
+
+	private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+	private volatile boolean running;
+	private Thread worker;
+	private DistributionSummary batchSize;
+
+	private record Request(String orderNumber, CompletableFuture<DeductResult> future) {
+	}
+
+	@PostConstruct
+	void start() {
+		if (!enabled) return;
+
+		batchSize = DistributionSummary.builder("app.stock.batch.size")
+			.description("재고 차감 배치 당 주문 수")
+			.register(meterRegistry);
+		running = true;
+		worker = Thread.ofPlatform().name("stock-deduction-batcher").daemon().start(this::drainLoop);
+	}
+
+	@PreDestroy
+	void stop() {
+		running = false;
+		if (worker == null) return;
+
+		worker.interrupt();
+		try {
+			worker.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// 워커가 끝난 뒤 남은 요청은 실패로 끝낸다 (종료 중에는 새 트랜잭션을 시작하지 않는다)
+		List<Request> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		remaining.forEach(request -> request.future()
+			.completeExceptionally(new IllegalStateException("재고 차감 배치 종료")));
+	}
+
+	/**
+	 * 재고 차감. 비활성화면 바로 개별 트랜잭션으로 처리한다.
+	 */
+	public void deduct(String orderNumber) {
+		if (!running) {
+			paymentTxService.lockAndDeductStock(orderNumber);
+			return;
+		}
+
+		CompletableFuture<DeductResult> future = new CompletableFuture<>();
+		Request request = new Request(orderNumber, future);
+		queue.add(request);
+		// running 확인과 add 사이에 stop() 이 큐를 비웠으면 아무도 처리하지 않으므로 직접 처리
+		if (!running && queue.remove(request)) {
+			paymentTxService.lockAndDeductStock(orderNumber);
+			return;
+		}
+
+		DeductResult result;
+		try {
+			result = future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("재고 차감 대기 중 인터럽트", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("재고 차감 실패", e.getCause());
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("재고 차감 대기 시간 초과", e);
+		}
+
+		switch (result) {
+			case DEDUCTED -> {
+			}
+			case FALLBACK -> paymentTxService.lockAndDeductStock(orderNumber);
+			case SOLD_OUT -> throw new IllegalStateException("재고 부족 - rollback");
+			case NOT_FOUND -> throw new EntityNotFoundException("해당 주문이 존재하지 않습니다.");
+			case ALREADY_PROCESSED -> throw new IllegalStateException("이미 처리된 주문입니다.");
+		}
+	}
+
+	private void drainLoop() {
+		long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+		while (running) {
+			List<Request> batch = new ArrayList<>(maxSize);
+			try {
+				batch.add(queue.take());
+				long deadline = System.nanoTime() + windowNanos;
+				while (batch.size() < maxSize) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) break;
+					Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) break;
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				batch.forEach(request -> request.future().complete(DeductResult.FALLBACK));
+				Thread.currentThread().interrupt();
+				return;
+			}
+			process(batch);
+		}
+	}
+
+	private void process(List<Request> batch) {
+		batchSize.record(batch.size());
+
+		// 같은 주문이 중복되면 한 번만 처리하고 모든 요청에 같은 결과를 준다
+		Map<String, List<Request>> requestsByOrder = new LinkedHashMap<>();
+		for (Request request : batch) {
+			requestsByOrder.computeIfAbsent(request.orderNumber(), k -> new ArrayList<>()).add(request);
+		}
+
+		Map<String, DeductResult> results;
+		try {
+			results = paymentTxService.lockAndDeductStockBatch(new ArrayList<>(requestsByOrder.keySet()));
+		} catch (Exception e) {
+			log.warn("재고 차감 배치 실패, 개별 처리로 전환. size={}", batch.size(), e);
+			batch.forEach(request -> request.future().complete(DeductResult.FALLBACK));
+			return;
+		}
+
+		requestsByOrder.forEach((orderNumber, requests) -> {
+			DeductResult result = results.getOrDefault(orderNumber, DeductResult.FALLBACK);
+			requests.forEach(request -> request.future().complete(result));
+		});
+	}
+}
@@ -1,13 +1,10 @@
 package com.commerce.product.controller;
 
-import com.commerce.product.domain.Product;
 import com.commerce.common.enums.ProductSortType;
 import com.commerce.common.enums.SalesPeriod;
-import com.commerce.product.domain.ProductOption;
 import com.commerce.product.dto.ProductDetailDTO;
 import com.commerce.product.dto.ProductHomeDTO;
 import com.commerce.product.dto.ProductSearchRequest;
-import com.commerce.product.dto.ProductMapper;
 import com.commerce.product.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,7 +16,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -27,14 +23,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-    private final ProductMapper productMapper;
 
     // 상품 상세
     @GetMapping("/{id}")
     public String getProductDetail(@PathVariable Long id, Model model) {
-        Product product = productService.findByIdWithImage(id);
-        List<ProductOption> options = productService.findOptionsByProductId(id);
-        ProductDetailDTO dto = productMapper.toProductDetailDTO(product, options);
+        ProductDetailDTO dto = productService.getProductDetail(id);
 
         model.addAttribute("product", dto);
         return "product-detail";
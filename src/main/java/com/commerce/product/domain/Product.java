@@ -43,6 +43,9 @@ public class Product extends BaseEntity{
     private int price;
     private int stock;
 
+    // true 면 재고가 stock_shard 버킷에 나뉘어 있다 (StockShardService 에서 변경)
+    private boolean stockSharded = false;
+
     private String name;
     private String description;
 
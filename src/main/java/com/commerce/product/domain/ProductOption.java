@@ -18,6 +18,9 @@ public class ProductOption {
     private int stock;
     private int additionalPrice;
 
+    // true 면 재고가 stock_shard 버킷에 나뉘어 있다 (StockShardService 에서 변경)
+    private boolean stockSharded = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     @Setter
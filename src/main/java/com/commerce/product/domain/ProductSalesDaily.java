@@ -0,0 +1,34 @@
+package com.commerce.product.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 상품 결제일별 판매 수량.
+ * 결제 성공/취소 시 증감하고, 판매량 정렬과 인기 상품은 주문 테이블 대신 이 테이블을 합산한다. (상품당 기간 일수 이하의 행)
+ * 읽기/쓰기는 ProductSalesDailyJdbcRepository, ProductSalesDailyRepository 에서 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "product_sales_daily",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "sales_date"}),
+        indexes = @Index(name = "idx_sales_daily_date", columnList = "sales_date, product_id, quantity"))
+public class ProductSalesDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;    // 결제 승인일
+
+    @Column(nullable = false)
+    private long quantity;
+}
@@ -0,0 +1,36 @@
+package com.commerce.product.domain;
+
+import com.commerce.common.enums.StockShardType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 인기 상품(hot SKU)의 재고 버킷.
+ * 상품/옵션의 stock_sharded 가 true 이면 재고는 이 버킷들의 합이고, 원래 행의 stock 은 0 으로 둔다.
+ * 읽기/쓰기는 StockShardJdbcRepository 에서 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "stock_shard",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"target_type", "target_id", "bucket"}))
+public class StockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 16)
+    private StockShardType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;      // product_id 또는 product_option.id
+
+    @Column(nullable = false)
+    private int bucket;
+
+    @Column(nullable = false)
+    private int stock;
+}
@@ -0,0 +1,9 @@
+package com.commerce.product.dto;
+
+import java.time.LocalDate;
+
+public record ProductDailySoldRow(
+	Long productId,
+	LocalDate salesDate,
+	long quantity
+) {}
@@ -4,8 +4,10 @@ import java.util.List;
 
 import com.commerce.admin.dto.ProductOptionDTO;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@NoArgsConstructor
 public class ProductDetailDTO {
 	private Long id;
 	private int price;
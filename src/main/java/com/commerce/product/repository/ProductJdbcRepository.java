@@ -2,9 +2,13 @@ package com.commerce.product.repository;
 
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -16,71 +20,161 @@ import lombok.RequiredArgsConstructor;
 @Repository
 public class ProductJdbcRepository {
 
+	/**
+	 * 재고 UPDATE 문 형태.
+	 * UNION: 품목 수만큼 union all (품목 수마다 SQL 이 달라 prepared statement 캐시를 못 쓴다)
+	 * BUCKETED: 1, 2, 4 ... 64 행으로 맞춰 채운다 (SQL 7 가지)
+	 * JSON_TABLE: 품목을 JSON 파라미터 하나로 넘긴다 (SQL 1 가지)
+	 */
+	public enum StockUpdateSqlMode { UNION, BUCKETED, JSON_TABLE }
+
+	private static final int[] BUCKET_SIZES = {1, 2, 4, 8, 16, 32, 64};
+	private static final int MAX_BUCKET_SIZE = 64;
+
 	private final JdbcTemplate jdbcTemplate;
 
+	@Value("${app.stock.update-sql-mode:bucketed}")
+	private StockUpdateSqlMode sqlMode;
+
 
 	/**
 	 * UPDATE product p
 	 * JOIN (
-	 *   SELECT ? AS product_id, ? AS qty
+	 *   SELECT CAST(? AS SIGNED) AS product_id, CAST(? AS SIGNED) AS qty
 	 *   UNION ALL SELECT ?, ?
 	 *   ...
 	 * ) t ON p.product_id = t.product_id
 	 * SET p.stock = p.stock - t.qty
 	 *
+	 * 문장 형태는 app.stock.update-sql-mode 를 따른다 ({@link StockUpdateSqlMode}).
 	 * 반드시 transactional 안에서 사용할 것.
 	 */
 	public int  updateStock(Map<Long, Integer> qtyByProductId, boolean isIncrease) {
+		return updateStock("product", "product_id", qtyByProductId, isIncrease);
+	}
 
-		if (qtyByProductId == null || qtyByProductId.isEmpty()) return 0;
+	/**
+	 * UPDATE product_option p
+	 * JOIN (
+	 *   SELECT CAST(? AS SIGNED) AS id, CAST(? AS SIGNED) AS qty
+	 *   UNION ALL SELECT ?, ?
+	 *   ...
+	 * ) t ON p.id = t.id
+	 * SET p.stock = p.stock - t.qty
+	 *
+	 * 옵션 품목의 재고. 상품 재고와 같은 방식으로 한 문장에서 모든 행을 검증한다.
+	 * 반드시 transactional 안에서 사용할 것.
+	 */
+	public int updateOptionStock(Map<Long, Integer> qtyByOptionId, boolean isIncrease) {
+		return updateStock("product_option", "id", qtyByOptionId, isIncrease);
+	}
+
+	// id 오름차순으로 행 락을 잡아 동시 주문 간 데드락을 피한다
+	private int updateStock(String table, String idColumn, Map<Long, Integer> qtyById, boolean isIncrease) {
 
-		List<Long> productIds = qtyByProductId.keySet().stream().sorted().distinct().toList();
+		if (qtyById == null || qtyById.isEmpty()) return 0;
+
+		List<Long> ids = qtyById.keySet().stream().sorted().distinct().toList();
 
 		// qty 검증
-		for (Long id : productIds) {
-			Integer qty = qtyByProductId.get(id);
+		for (Long id : ids) {
+			Integer qty = qtyById.get(id);
 			if (qty == null || qty <= 0) {
-				throw new IllegalArgumentException("invalid qty: productId=" + id + ", qty=" + qty);
+				throw new IllegalArgumentException("invalid qty: " + table + "." + idColumn + "=" + id + ", qty=" + qty);
 			}
 		}
 
-		StringBuilder sql = new StringBuilder();
-		sql.append("update product p join (");
+		int updated = switch (sqlMode) {
+			case UNION -> executeDerived(table, idColumn, ids, qtyById, ids.size(), isIncrease);
+			case BUCKETED -> {
+				int sum = 0;
+				for (int from = 0; from < ids.size(); from += MAX_BUCKET_SIZE) {
+					List<Long> chunk = ids.subList(from, Math.min(from + MAX_BUCKET_SIZE, ids.size()));
+					sum += executeDerived(table, idColumn, chunk, qtyById, bucketSize(chunk.size()), isIncrease);
+				}
+				yield sum;
+			}
+			case JSON_TABLE -> executeJsonTable(table, idColumn, ids, qtyById, isIncrease);
+		};
 
-		List<Object> params = new ArrayList<>();
+		if (!isIncrease && updated != ids.size()) {
+			throw new IllegalStateException("재고 부족(또는 " + ("product".equals(table) ? "상품" : "옵션") + " 누락) - rollback");
+
+		}
+		return updated;
+	}
+
+	/**
+	 * 파생 테이블 (select ? as id, ? as qty union all select ?, ? ...) 과 join.
+	 * rows 가 ids 보다 많으면 나머지는 (null, 0) 행으로 채운다. null 은 어떤 행과도 join 되지 않는다
+	 */
+	private int executeDerived(String table, String idColumn, List<Long> ids, Map<Long, Integer> qtyById,
+		int rows, boolean isIncrease) {
 
-		boolean first = true;
-		for (Long productId : productIds) {
-			int qty = qtyByProductId.get(productId);
+		StringBuilder sql = new StringBuilder();
+		sql.append("update ").append(table).append(" p join (");
 
-			if (first) {
-				sql.append("select ? as product_id, ? as qty ");
-				first = false;
+		List<Object> params = new ArrayList<>(rows * 2);
+		for (int i = 0; i < rows; i++) {
+			// 서버 prepare 시 파라미터 타입이 문자열로 잡히면 join 에 인덱스를 못 쓰므로 정수로 고정
+			if (i == 0) {
+				sql.append("select cast(? as signed) as ").append(idColumn).append(", cast(? as signed) as qty ");
 			} else {
-				sql.append("union all select ?, ? ");
+				sql.append("union all select cast(? as signed), cast(? as signed) ");
 			}
 
-			params.add(productId);
-			params.add(qty);
+			if (i < ids.size()) {
+				params.add(ids.get(i));
+				params.add(qtyById.get(ids.get(i)));
+			} else {
+				params.add(null);
+				params.add(0);
+			}
 		}
 
-		sql.append(") t on p.product_id = t.product_id ");
+		sql.append(") t on p.").append(idColumn).append(" = t.").append(idColumn).append(" ");
+		sql.append(setClause(isIncrease));
 
-		if (isIncrease) {
-			sql.append("set p.stock = p.stock + t.qty");
-			// 증가면 부족 조건 없음
-		} else {
-			sql.append("set p.stock = p.stock - t.qty ");
-			sql.append("where p.stock >= t.qty");
+		return jdbcTemplate.update(sql.toString(), params.toArray());
+	}
+
+	/**
+	 * UPDATE product p
+	 * JOIN JSON_TABLE(?, '$[*]' COLUMNS (product_id BIGINT PATH '$.id', qty INT PATH '$.qty')) t
+	 *   ON p.product_id = t.product_id
+	 *
+	 * 품목 수와 관계없이 SQL 이 하나다. MySQL 8.0.4 이상
+	 */
+	private int executeJsonTable(String table, String idColumn, List<Long> ids, Map<Long, Integer> qtyById,
+		boolean isIncrease) {
+
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < ids.size(); i++) {
+			if (i > 0) json.append(',');
+			json.append("{\"id\":").append(ids.get(i)).append(",\"qty\":").append(qtyById.get(ids.get(i))).append('}');
 		}
+		json.append(']');
 
-		int updated = jdbcTemplate.update(sql.toString(), params.toArray());
+		String sql = "update " + table + " p join json_table(?, '$[*]' columns ("
+			+ idColumn + " bigint path '$.id', qty int path '$.qty')) t on p." + idColumn + " = t." + idColumn + " "
+			+ setClause(isIncrease);
 
-		if (!isIncrease && updated != productIds.size()) {
-			throw new IllegalStateException("재고 부족(또는 상품 누락) - rollback");
+		return jdbcTemplate.update(sql, json.toString());
+	}
 
+	private static String setClause(boolean isIncrease) {
+		// 증가면 부족 조건 없음
+		return isIncrease
+			? "set p.stock = p.stock + t.qty"
+			: "set p.stock = p.stock - t.qty where p.stock >= t.qty";
+	}
+
+	// 품목 수 이상인 가장 작은 고정 크기
+	static int bucketSize(int size) {
+		for (int bucket : BUCKET_SIZES) {
+			if (bucket >= size) return bucket;
 		}
-		return updated;
+		return MAX_BUCKET_SIZE;
 	}
 
 	// 홈 노출 여부 수정
@@ -104,4 +198,48 @@ public class ProductJdbcRepository {
 
 		});
 	}
+
+	// 상품 재고 조회 (재고 예약 카운터 적재/대사용). 샤딩된 재고는 버킷 합
+	public Map<Long, Integer> findStocks(Collection<Long> productIds) {
+		return findStocks("""
+				select p.product_id as id, p.stock + coalesce(
+				  (select sum(s.stock) from stock_shard s where s.target_type = 'PRODUCT' and s.target_id = p.product_id), 0
+				) as stock
+				from product p where p.product_id in (%s)
+			""", productIds);
+	}
+
+	// 옵션 재고 조회 (재고 예약 카운터 적재/대사용). 샤딩된 재고는 버킷 합
+	public Map<Long, Integer> findOptionStocks(Collection<Long> optionIds) {
+		return findStocks("""
+				select o.id, o.stock + coalesce(
+				  (select sum(s.stock) from stock_shard s where s.target_type = 'OPTION' and s.target_id = o.id), 0
+				) as stock
+				from product_option o where o.id in (%s)
+			""", optionIds);
+	}
+
+	// 재고 행 잠금 후 조회 (재고 차감 배치용). id 순서로 잠근다
+	public Map<Long, Integer> lockStocks(Collection<Long> productIds) {
+		return findStocks(
+			"select product_id as id, stock from product where product_id in (%s) order by product_id for update",
+			productIds);
+	}
+
+	public Map<Long, Integer> lockOptionStocks(Collection<Long> optionIds) {
+		return findStocks("select id, stock from product_option where id in (%s) order by id for update", optionIds);
+	}
+
+	private Map<Long, Integer> findStocks(String sqlFormat, Collection<Long> ids) {
+		Map<Long, Integer> result = new HashMap<>();
+		if (ids == null || ids.isEmpty()) return result;
+
+		String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+		jdbcTemplate.query(String.format(sqlFormat, placeholders),
+			rs -> {
+				result.put(rs.getLong("id"), rs.getInt("stock"));
+			},
+			ids.toArray());
+		return result;
+	}
 }
@@ -1,11 +1,9 @@
 package com.commerce.product.repository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-import com.commerce.common.enums.OrderStatus;
-
 import com.commerce.admin.dto.AdminProductListDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -102,13 +100,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 	select new com.commerce.product.dto.ProductHomeDTO(p.id, mi.storeFileName, p.name, p.price, p.createdAt)
 	from Product p
 	left join p.mainImage mi
-	left join OrderProduct op on op.product = p
-	left join op.order o on o.orderStatus in :statuses and o.approvedAt >= :since
+	left join ProductSalesDaily s on s.productId = p.id and s.salesDate >= :since
 	where (:keyword is null or p.name like %:keyword%)
 		and (:minPrice is null or p.price >= :minPrice)
 		and (:maxPrice is null or p.price <= :maxPrice)
 	group by p.id, mi.storeFileName, p.name, p.price, p.createdAt
-	order by coalesce(sum(op.quantity), 0) desc
+	order by coalesce(sum(s.quantity), 0) desc, p.id desc
 """, countQuery = """
 	select count(distinct p) from Product p
 			where (:keyword is null or p.name like %:keyword%)
@@ -116,7 +113,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 			and (:maxPrice is null or p.price <= :maxPrice)
 """)
 	Page<ProductHomeDTO> searchProductBySales(String keyword, Integer minPrice,
-											  Integer maxPrice, LocalDateTime since,
-											  List<OrderStatus> statuses,
+											  Integer maxPrice, LocalDate since,
 											  Pageable pageable);
 }
@@ -0,0 +1,131 @@
+package com.commerce.product.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.commerce.product.dto.ProductDailySoldRow;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * product_sales_daily 증감과 재집계.
+ * 증감은 결제 커밋 후 짧은 트랜잭션으로 호출해 (상품, 날짜) 행 잠금을 결제 트랜잭션 밖에 둔다.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ProductSalesDailyJdbcRepository {
+
+	// 판매로 집계하는 주문 상태 (결제 완료 이후)
+	private static final String SOLD_STATUSES = "'PAID', 'PREPARING', 'SHIPPING', 'DELIVERED'";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 판매 수량 증가. 상품 id 순서로 upsert 해 같은 상품을 산 결제끼리 데드락이 나지 않도록 한다.
+	 */
+	public void increase(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+		if (qtyByProductId.isEmpty()) return;
+
+		StringBuilder sql = new StringBuilder("insert into product_sales_daily (product_id, sales_date, quantity) values ");
+		List<Object> params = new ArrayList<>();
+		new TreeMap<>(qtyByProductId).forEach((productId, qty) -> {
+			if (!params.isEmpty()) sql.append(", ");
+			sql.append("(?, ?, ?)");
+			params.add(productId);
+			params.add(Date.valueOf(salesDate));
+			params.add(qty);
+		});
+		sql.append(" as new on duplicate key update quantity = product_sales_daily.quantity + new.quantity");
+
+		jdbcTemplate.update(sql.toString(), params.toArray());
+	}
+
+	/**
+	 * 판매 수량 감소 (결제 취소). 집계 행이 없으면(재집계 이전 결제) 무시하고, 0 아래로는 내리지 않는다.
+	 */
+	public void decrease(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+		if (qtyByProductId.isEmpty()) return;
+
+		List<Object[]> args = new ArrayList<>();
+		new TreeMap<>(qtyByProductId).forEach((productId, qty) ->
+			args.add(new Object[] {qty, productId, Date.valueOf(salesDate)}));
+
+		jdbcTemplate.batchUpdate("""
+			update product_sales_daily set quantity = greatest(quantity - ?, 0)
+			where product_id = ? and sales_date = ?
+			""", args);
+	}
+
+	/**
+	 * 하루치 집계를 주문 테이블 기준으로 다시 만든다. includeArchive 면 보관 주문(orders_archive)도 합친다.
+	 * 집계 조회는 잠금 없는 읽기라 재집계 중에도 결제가 주문 행에서 기다리지 않는다.
+	 * 먼저 지운 날짜 행은 커밋까지 잠겨 있으므로, 그 사이 결제의 증감은 재집계 결과 위에 더해진다.
+	 * 잠금은 그 날짜 범위(빈 테이블이면 이후 전체)에 걸리므로 하루 단위 트랜잭션으로만 호출한다.
+	 * 커밋 직후 증감 전의 결제를 재집계가 읽으면 두 번 더해질 수 있으나, 다음 날 재집계에서 맞춰진다.
+	 * @return 만든 행 수
+	 */
+	public int rebuild(LocalDate salesDate, boolean includeArchive) {
+		Timestamp from = Timestamp.valueOf(salesDate.atStartOfDay());
+		Timestamp to = Timestamp.valueOf(salesDate.plusDays(1).atStartOfDay());
+
+		jdbcTemplate.update("delete from product_sales_daily where sales_date = ?", Date.valueOf(salesDate));
+
+		String sold = """
+			select op.product_id, op.quantity
+			from order_product op
+			join orders o on o.order_id = op.order_id
+			where o.order_status in (%s) and o.approved_at >= ? and o.approved_at < ?
+			""".formatted(SOLD_STATUSES);
+		List<Object> params = new ArrayList<>(List.of(from, to));
+		if (includeArchive) {
+			sold += """
+				union all
+				select op.product_id, op.quantity
+				from order_product_archive op
+				join orders_archive o on o.order_id = op.order_id
+				where o.order_status in (%s) and o.approved_at >= ? and o.approved_at < ?
+				""".formatted(SOLD_STATUSES);
+			params.add(from);
+			params.add(to);
+		}
+
+		List<Object[]> rows = jdbcTemplate.query("""
+			select t.product_id, sum(t.quantity) as quantity
+			from (%s) t
+			group by t.product_id
+			""".formatted(sold), (rs, rowNum) -> new Object[] {
+			rs.getLong("product_id"), Date.valueOf(salesDate), rs.getLong("quantity")
+		}, params.toArray());
+
+		jdbcTemplate.batchUpdate("""
+			insert into product_sales_daily (product_id, sales_date, quantity) values (?, ?, ?)
+			as new on duplicate key update quantity = product_sales_daily.quantity + new.quantity
+			""", rows);
+		return rows.size();
+	}
+
+	public boolean isEmpty() {
+		return jdbcTemplate.queryForList("select 1 from product_sales_daily limit 1", Integer.class).isEmpty();
+	}
+
+	// since 이후 상품별 일별 판매량 (판매 랭킹 재구축용)
+	public List<ProductDailySoldRow> findDailySoldQuantity(LocalDate since) {
+		return jdbcTemplate.query("""
+			select product_id, sales_date, quantity
+			from product_sales_daily
+			where sales_date >= ? and quantity > 0
+			""", (rs, rowNum) -> new ProductDailySoldRow(
+			rs.getLong("product_id"),
+			rs.getDate("sales_date").toLocalDate(),
+			rs.getLong("quantity")
+		), Date.valueOf(since));
+	}
+}
@@ -0,0 +1,28 @@
+package com.commerce.product.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.commerce.product.domain.ProductSalesDaily;
+import com.commerce.product.dto.ProductSoldRow;
+
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, Long> {
+
+	/**
+	 * since 이후 판매 수량 상위 상품. idx_sales_daily_date(sales_date, product_id, quantity) 만 읽는다.
+	 */
+	@Query("""
+		select new com.commerce.product.dto.ProductSoldRow(s.productId, sum(s.quantity))
+		from ProductSalesDaily s
+		where s.salesDate >= :since
+		group by s.productId
+		having sum(s.quantity) > 0
+		order by sum(s.quantity) desc
+		""")
+	List<ProductSoldRow> findPopularProducts(@Param("since") LocalDate since, Pageable pageable);
+}
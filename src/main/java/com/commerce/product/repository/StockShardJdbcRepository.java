@@ -0,0 +1,190 @@
+package com.commerce.product.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.commerce.common.enums.StockShardType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * stock_shard 버킷 재고.
+ * 차감은 버킷 한 행만 잠그므로 같은 상품을 동시에 사는 주문이 한 행에 줄 서지 않는다.
+ * 반드시 transactional 안에서 사용할 것.
+ */
+@RequiredArgsConstructor
+@Repository
+public class StockShardJdbcRepository {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 1) 잠금 없이 읽은 버킷 중 qty 이상 남은 버킷 하나를 무작위로 골라 차감
+	 * 2) 실패하거나 한 버킷으로 부족하면 버킷 순서대로 잠그고 나눠서 차감
+	 *
+	 * <p>1) 의 UPDATE 가 조건(stock >= qty) 때문에 실패해도 그 버킷 잠금은 커밋까지 유지된다 (savepoint 로 되돌려도 풀리지 않음).
+	 * 이 상태로 작은 번호 버킷을 기다리면 순서대로 잠그는 다른 트랜잭션과 데드락이 나므로,
+	 * 잡은 버킷 이후만 순서대로 기다리고 앞 버킷은 잠겨 있지 않은 것만(SKIP LOCKED) 가져온다.
+	 */
+	public void deduct(StockShardType type, Long targetId, int qty) {
+		List<Integer> candidates = jdbcTemplate.queryForList("""
+				select bucket from stock_shard
+				where target_type = ? and target_id = ? and stock >= ?
+			""", Integer.class, type.name(), targetId, qty);
+
+		if (candidates.isEmpty()) {
+			deductFromBuckets(type, targetId, qty, lockBuckets(type, targetId));
+			return;
+		}
+
+		int bucket = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+		int updated = jdbcTemplate.update("""
+				update stock_shard set stock = stock - ?
+				where target_type = ? and target_id = ? and bucket = ? and stock >= ?
+			""", qty, type.name(), targetId, bucket, qty);
+		if (updated == 1) return;
+
+		deductFromBuckets(type, targetId, qty, lockBucketsFrom(type, targetId, bucket));
+	}
+
+	// 잠근 버킷에서 앞 번호부터 나눠서 차감. 합이 부족하면 예외
+	private void deductFromBuckets(StockShardType type, Long targetId, int qty, List<int[]> buckets) {
+		int total = buckets.stream().mapToInt(b -> b[1]).sum();
+		if (buckets.isEmpty() || total < qty) {
+			throw new IllegalStateException("재고 부족(버킷) - rollback");
+		}
+
+		List<Object[]> params = new ArrayList<>();
+		int remaining = qty;
+		for (int[] bucket : buckets) {
+			if (remaining == 0) break;
+			int take = Math.min(bucket[1], remaining);
+			if (take <= 0) continue;
+			params.add(new Object[] {take, type.name(), targetId, bucket[0]});
+			remaining -= take;
+		}
+		jdbcTemplate.batchUpdate("""
+				update stock_shard set stock = stock - ?
+				where target_type = ? and target_id = ? and bucket = ?
+			""", params);
+	}
+
+	// 이미 잠근 heldBucket 부터 끝까지 순서대로 잠그고, 앞 버킷은 기다리지 않고 잠글 수 있는 것만 잠근다. [bucket, stock]
+	private List<int[]> lockBucketsFrom(StockShardType type, Long targetId, int heldBucket) {
+		List<int[]> buckets = new ArrayList<>(jdbcTemplate.query("""
+				select bucket, stock from stock_shard
+				where target_type = ? and target_id = ? and bucket >= ?
+				order by bucket
+				for update
+			""", (rs, rowNum) -> new int[] {rs.getInt("bucket"), rs.getInt("stock")}, type.name(), targetId, heldBucket));
+		buckets.addAll(jdbcTemplate.query("""
+				select bucket, stock from stock_shard
+				where target_type = ? and target_id = ? and bucket < ?
+				order by bucket
+				for update skip locked
+			""", (rs, rowNum) -> new int[] {rs.getInt("bucket"), rs.getInt("stock")}, type.name(), targetId, heldBucket));
+		return buckets;
+	}
+
+	/**
+	 * 무작위 버킷 하나에 재고 복원. 버킷이 없으면(샤딩 해제됨) false
+	 */
+	public boolean increase(StockShardType type, Long targetId, int qty) {
+		List<Integer> buckets = jdbcTemplate.queryForList(
+			"select bucket from stock_shard where target_type = ? and target_id = ?",
+			Integer.class, type.name(), targetId);
+		if (buckets.isEmpty()) return false;
+
+		int bucket = buckets.get(ThreadLocalRandom.current().nextInt(buckets.size()));
+		return jdbcTemplate.update("""
+				update stock_shard set stock = stock + ?
+				where target_type = ? and target_id = ? and bucket = ?
+			""", qty, type.name(), targetId, bucket) == 1;
+	}
+
+	// 가용 재고 = 버킷 합
+	public int sumStock(StockShardType type, Long targetId) {
+		Integer sum = jdbcTemplate.queryForObject(
+			"select coalesce(sum(stock), 0) from stock_shard where target_type = ? and target_id = ?",
+			Integer.class, type.name(), targetId);
+		return sum != null ? sum : 0;
+	}
+
+	public Map<Long, Integer> sumStocks(StockShardType type, Collection<Long> targetIds) {
+		Map<Long, Integer> result = new HashMap<>();
+		if (targetIds == null || targetIds.isEmpty()) return result;
+
+		String placeholders = String.join(",", Collections.nCopies(targetIds.size(), "?"));
+		List<Object> params = new ArrayList<>();
+		params.add(type.name());
+		params.addAll(targetIds);
+
+		jdbcTemplate.query("""
+				select target_id, sum(stock) as stock from stock_shard
+				where target_type = ? and target_id in (%s)
+				group by target_id
+			""".formatted(placeholders),
+			rs -> {
+				result.put(rs.getLong("target_id"), rs.getInt("stock"));
+			},
+			params.toArray());
+		return result;
+	}
+
+	// 버킷 순서대로 잠금. [bucket, stock]
+	public List<int[]> lockBuckets(StockShardType type, Long targetId) {
+		return jdbcTemplate.query("""
+				select bucket, stock from stock_shard
+				where target_type = ? and target_id = ?
+				order by bucket
+				for update
+			""", (rs, rowNum) -> new int[] {rs.getInt("bucket"), rs.getInt("stock")}, type.name(), targetId);
+	}
+
+	// 버킷 전체 교체. stocks 의 i 번째 값이 i 번 버킷 재고
+	public void replaceBuckets(StockShardType type, Long targetId, List<Integer> stocks) {
+		deleteBuckets(type, targetId);
+
+		List<Object[]> params = new ArrayList<>();
+		for (int i = 0; i < stocks.size(); i++) {
+			params.add(new Object[] {type.name(), targetId, i, stocks.get(i)});
+		}
+		jdbcTemplate.batchUpdate(
+			"insert into stock_shard (target_type, target_id, bucket, stock) values (?, ?, ?, ?)", params);
+	}
+
+	public void deleteBuckets(StockShardType type, Long targetId) {
+		jdbcTemplate.update("delete from stock_shard where target_type = ? and target_id = ?",
+			type.name(), targetId);
+	}
+
+	/**
+	 * 원래 행(product, product_option) 잠금 후 stock 반환. 없으면 null
+	 * 옵션은 productId 의 옵션인지도 확인한다.
+	 */
+	public Integer lockBaseStock(Long productId, Long optionId) {
+		List<Integer> stocks = optionId == null
+			? jdbcTemplate.queryForList(
+				"select stock from product where product_id = ? for update", Integer.class, productId)
+			: jdbcTemplate.queryForList(
+				"select stock from product_option where id = ? and product_id = ? for update", Integer.class,
+				optionId, productId);
+		return stocks.isEmpty() ? null : stocks.get(0);
+	}
+
+	// 원래 행의 stock, stock_sharded 변경
+	public void updateBase(StockShardType type, Long targetId, int stock, boolean sharded) {
+		String sql = type == StockShardType.PRODUCT
+			? "update product set stock = ?, stock_sharded = ? where product_id = ?"
+			: "update product_option set stock = ?, stock_sharded = ? where id = ?";
+		jdbcTemplate.update(sql, stock, sharded, targetId);
+	}
+}
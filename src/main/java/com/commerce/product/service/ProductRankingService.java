@@ -0,0 +1,169 @@
+package com.commerce.product.service;
+
+import com.commerce.common.support.RedisCircuitBreaker;
+import com.commerce.common.support.RedisDistributedLockProvider;
+import com.commerce.product.dto.ProductDailySoldRow;
+import com.commerce.product.dto.ProductSoldRow;
+import com.commerce.product.repository.ProductSalesDailyJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 판매 랭킹. 결제일별 sorted set(member=상품 id, score=판매 수량)을 결제 성공/취소 시 증감하고,
+ * 인기 상품은 구간의 일별 set 을 ZUNIONSTORE 로 합쳐 ZREVRANGE 로 조회한다.
+ *
+ * <p>매시간 MySQL 일별 판매량(product_sales_daily)으로 일별 set 을 다시 만들고 준비 완료 표시(READY_KEY)를 남긴다.
+ * 표시가 없으면(최초 기동 전, 재구축 중단) 조회 측은 기존 DB 집계를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRankingService {
+
+    private static final String PREFIX_DAILY_KEY = "commerce:product:rank:sold";      // + ":" + yyyyMMdd
+    private static final String PREFIX_WINDOW_KEY = "commerce:product:rank:window";   // + ":days" + days
+    private static final String READY_KEY = "commerce:product:rank:ready";
+    private static final String REBUILD_LOCK_KEY = "commerce:product:rank:rebuild:lock";
+
+    private static final int RETENTION_DAYS = 35;                          // 가장 긴 인기 상품 구간(30일) + 여유
+    private static final Duration DAILY_TTL = Duration.ofDays(RETENTION_DAYS + 1);
+    private static final Duration READY_TTL = Duration.ofHours(3);          // 재구축이 멈추면 DB 집계로 돌아간다
+    private static final Duration WINDOW_TTL = Duration.ofMinutes(1);
+    private static final long REBUILD_LOCK_TTL_MS = 5 * 60 * 1000;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisDistributedLockProvider distributedLockProvider;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ProductSalesDailyJdbcRepository productSalesDailyJdbcRepository;
+
+    // 결제 성공 반영
+    public void increment(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+        add(salesDate, qtyByProductId, 1);
+    }
+
+    // 결제 취소 반영
+    public void decrement(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+        add(salesDate, qtyByProductId, -1);
+    }
+
+    // Redis 실패 시 반영이 누락될 수 있으나 다음 재구축 때 맞춰진다
+    private void add(LocalDate salesDate, Map<Long, Integer> qtyByProductId, int sign) {
+        if (qtyByProductId.isEmpty()) return;
+        if (salesDate.isBefore(LocalDate.now().minusDays(RETENTION_DAYS))) return;
+
+        byte[] key = dailyKey(salesDate).getBytes(StandardCharsets.UTF_8);
+        circuitBreaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            qtyByProductId.forEach((productId, qty) -> connection.zSetCommands().zIncrBy(
+                    key, (double) sign * qty, String.valueOf(productId).getBytes(StandardCharsets.UTF_8)));
+            if (sign < 0) {
+                connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, 0);
+            }
+            connection.keyCommands().expire(key, DAILY_TTL.toSeconds());
+            return null;
+        }));
+    }
+
+    /**
+     * 최근 days 일 판매량 상위 limit 개. 오늘을 포함한 days + 1 개의 일별 set 을 합친다.
+     * 랭킹이 준비되지 않았거나 Redis 를 사용할 수 없으면 empty 를 반환한다.
+     */
+    public Optional<List<ProductSoldRow>> findTopSold(int days, int limit) {
+        return circuitBreaker.call(() -> {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY))) return Optional.<List<ProductSoldRow>>empty();
+
+            LocalDate today = LocalDate.now();
+            List<String> dailyKeys = new ArrayList<>();
+            for (int i = 0; i <= days; i++) {
+                dailyKeys.add(dailyKey(today.minusDays(i)));
+            }
+
+            String windowKey = PREFIX_WINDOW_KEY + ":days" + days;
+            redisTemplate.opsForZSet().unionAndStore(dailyKeys.get(0), dailyKeys.subList(1, dailyKeys.size()), windowKey);
+            redisTemplate.expire(windowKey, WINDOW_TTL);
+
+            Set<TypedTuple<String>> top = redisTemplate.opsForZSet().reverseRangeWithScores(windowKey, 0, limit - 1);
+            List<ProductSoldRow> rows = new ArrayList<>();
+            if (top != null) {
+                for (TypedTuple<String> tuple : top) {
+                    if (tuple.getValue() == null || tuple.getScore() == null || tuple.getScore() <= 0) continue;
+                    rows.add(new ProductSoldRow(Long.valueOf(tuple.getValue()), tuple.getScore().longValue()));
+                }
+            }
+            return Optional.of(rows);
+        }, Optional::empty);
+    }
+
+    // 매시간 MySQL 기준으로 재구축. 여러 노드 중 락을 잡은 하나만 실행
+    @Scheduled(cron = "${app.ranking.reconcile-cron:0 5 * * * *}")
+    public void reconcile() {
+        String token = distributedLockProvider.tryLock(REBUILD_LOCK_KEY, REBUILD_LOCK_TTL_MS);
+        if (token == null) return;
+
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("판매 랭킹 재구축 실패", e);
+        } finally {
+            distributedLockProvider.unlock(REBUILD_LOCK_KEY, token);
+        }
+    }
+
+    /**
+     * 보관 기간의 일별 set 을 MySQL 일별 판매량으로 다시 만든다. 임시 키에 채운 뒤 RENAME 으로 교체해
+     * 재구축 중에도 조회가 빈 값을 보지 않는다.
+     * 집계 조회 이후 RENAME 전에 들어온 증감은 누락될 수 있으며 다음 재구축 때 반영된다.
+     */
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(RETENTION_DAYS);
+
+        Map<LocalDate, List<ProductDailySoldRow>> rowsByDate = productSalesDailyJdbcRepository
+                .findDailySoldQuantity(from).stream()
+                .collect(Collectors.groupingBy(ProductDailySoldRow::salesDate));
+
+        for (LocalDate date = from; !date.isAfter(today); date = date.plusDays(1)) {
+            String key = dailyKey(date);
+            List<ProductDailySoldRow> rows = rowsByDate.get(date);
+            if (rows == null || rows.isEmpty()) {
+                redisTemplate.delete(key);
+                continue;
+            }
+
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            for (ProductDailySoldRow row : rows) {
+                tuples.add(TypedTuple.of(String.valueOf(row.productId()), (double) row.quantity()));
+            }
+
+            String tmpKey = key + ":rebuild";
+            redisTemplate.delete(tmpKey);
+            redisTemplate.opsForZSet().add(tmpKey, tuples);
+            redisTemplate.expire(tmpKey, DAILY_TTL);
+            redisTemplate.rename(tmpKey, key);
+        }
+
+        redisTemplate.opsForValue().set(READY_KEY, today.toString(), READY_TTL);
+        log.info("판매 랭킹 재구축 완료. from={}, rows={}", from, rowsByDate.values().stream().mapToInt(List::size).sum());
+    }
+
+    private static String dailyKey(LocalDate date) {
+        return PREFIX_DAILY_KEY + ":" + date.format(DAY_FORMAT);
+    }
+}
@@ -0,0 +1,97 @@
+package com.commerce.product.service;
+
+import com.commerce.common.enums.SalesPeriod;
+import com.commerce.common.support.RedisDistributedLockProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 상품 일별 판매량 재집계. 여러 노드 중 락을 잡은 하나만 실행한다.
+ *
+ * <p>기동 시 집계가 비어 있으면 가장 긴 판매량 구간(6개월)을 별도 스레드에서 채운다.
+ * 채우는 동안 트래픽을 받으므로 어제까지 하루 단위 트랜잭션으로 만들고, 결제가 들어오는 오늘은 마지막에 한 번 만든다.
+ * 매일 reconcile-days 일 전부터 어제까지를 다시 만들어 누락(커밋 후 증감 실패 등)을 맞춘다.
+ * 오늘은 결제가 계속 들어오므로 증감만으로 유지한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSalesDailyReconciler {
+
+    private static final String LOCK_KEY = "commerce:product:sales-daily:lock";
+    private static final long LOCK_TTL_MS = 10 * 60 * 1000;
+    // 하루 재집계가 이 시간 안에 끝난다고 보고, 남은 TTL 이 이보다 짧아지면 락을 다시 늘린다
+    private static final long LOCK_RENEW_MARGIN_MS = 2 * 60 * 1000;
+
+    private final ProductSalesDailyService productSalesDailyService;
+    private final RedisDistributedLockProvider distributedLockProvider;
+
+    @Value("${app.sales-daily.reconcile-days:3}")
+    private int reconcileDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Thread thread = new Thread(this::backfill, "sales-daily-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void backfill() {
+        try {
+            if (!productSalesDailyService.isEmpty()) return;
+        } catch (Exception e) {
+            log.warn("상품 일별 판매량 backfill 확인 실패", e);
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(SalesPeriod.SIX_MONTHS.getDays());
+        runLocked("backfill", from, today, token -> rebuildDaily(from, today, token));
+    }
+
+    @Scheduled(cron = "${app.sales-daily.reconcile-cron:0 15 4 * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(reconcileDays);
+        LocalDate to = today.minusDays(1);
+        runLocked("reconcile", from, to, token -> rebuildDaily(from, to, token));
+    }
+
+    // 하루 단위 트랜잭션으로 나눠 집계 행 잠금을 짧게 유지한다. 기간이 길면 하루마다 락을 늘린다
+    private int rebuildDaily(LocalDate from, LocalDate to, String token) {
+        long lockExpireAt = System.currentTimeMillis() + LOCK_TTL_MS;
+        int rows = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (lockExpireAt - System.currentTimeMillis() < LOCK_RENEW_MARGIN_MS) {
+                if (!distributedLockProvider.extend(LOCK_KEY, token, LOCK_TTL_MS)) {
+                    throw new IllegalStateException("재집계 락을 잃었습니다. date=" + date);
+                }
+                lockExpireAt = System.currentTimeMillis() + LOCK_TTL_MS;
+            }
+            rows += productSalesDailyService.rebuild(date);
+        }
+        return rows;
+    }
+
+    private void runLocked(String name, LocalDate from, LocalDate to, ToIntFunction<String> job) {
+        String token = distributedLockProvider.tryLock(LOCK_KEY, LOCK_TTL_MS);
+        if (token == null) return;
+
+        try {
+            int rows = job.applyAsInt(token);
+            log.info("상품 일별 판매량 {} 완료. from={}, to={}, rows={}", name, from, to, rows);
+        } catch (Exception e) {
+            log.warn("상품 일별 판매량 {} 실패", name, e);
+        } finally {
+            distributedLockProvider.unlock(LOCK_KEY, token);
+        }
+    }
+}
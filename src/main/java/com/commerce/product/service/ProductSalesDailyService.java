@@ -0,0 +1,49 @@
+package com.commerce.product.service;
+
+import com.commerce.order.repository.OrderArchiveJdbcRepository;
+import com.commerce.product.repository.ProductSalesDailyJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 상품 일별 판매량(product_sales_daily) 반영.
+ * 증감은 결제 커밋 후 별도 트랜잭션으로 반영하고, 누락은 하루 단위 재집계로 맞춘다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSalesDailyService {
+
+    private final ProductSalesDailyJdbcRepository productSalesDailyJdbcRepository;
+    private final OrderArchiveJdbcRepository orderArchiveJdbcRepository;
+
+    // 결제 성공 반영 (결제 커밋 후 호출)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void increment(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+        productSalesDailyJdbcRepository.increase(salesDate, qtyByProductId);
+    }
+
+    // 결제 취소 반영 (결제 커밋 후 호출)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void decrement(LocalDate salesDate, Map<Long, Integer> qtyByProductId) {
+        productSalesDailyJdbcRepository.decrease(salesDate, qtyByProductId);
+    }
+
+    /**
+     * 하루치 집계를 주문 테이블(보관 주문 포함)로 다시 만든다.
+     * @return 만든 행 수
+     */
+    @Transactional
+    public int rebuild(LocalDate salesDate) {
+        return productSalesDailyJdbcRepository.rebuild(salesDate, orderArchiveJdbcRepository.tablesExist());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return productSalesDailyJdbcRepository.isEmpty();
+    }
+}
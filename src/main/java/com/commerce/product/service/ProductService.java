@@ -3,16 +3,16 @@ package com.commerce.product.service;
 import com.commerce.admin.dto.ProductOptionDTO;
 import com.commerce.product.domain.Image;
 import com.commerce.product.domain.Product;
-import com.commerce.common.enums.OrderStatus;
 import com.commerce.common.enums.ProductSortType;
+import com.commerce.common.enums.StockShardType;
 import com.commerce.product.domain.ProductOption;
 import com.commerce.product.dto.*;
 import com.commerce.admin.dto.AdminProductListDTO;
 import com.commerce.product.repository.ImageRepository;
-import com.commerce.order.repository.OrderProductRepository;
 import com.commerce.product.repository.ProductJdbcRepository;
 import com.commerce.product.repository.ProductOptionRepository;
 import com.commerce.product.repository.ProductRepository;
+import com.commerce.product.repository.ProductSalesDailyRepository;
 import com.commerce.common.exception.EntityNotFoundException;
 import com.commerce.common.storage.FileStorage;
 import com.commerce.common.storage.UploadFile;
@@ -33,7 +33,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -48,8 +48,11 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ImageRepository imageRepository;
     private final ProductJdbcRepository productJdbcRepository;
-    private final OrderProductRepository orderProductRepository;
+    private final ProductSalesDailyRepository productSalesDailyRepository;
     private final ProductOptionRepository productOptionRepository;
+    private final ProductRankingService productRankingService;
+    private final StockReservationService stockReservationService;
+    private final StockShardService stockShardService;
 
     private final CacheTemplate cacheTemplate;
 
@@ -66,18 +69,14 @@ public class ProductService {
     public List<ProductHomeDTO> findFeaturedProducts() {
 
         // 캐시에서 조회
-        List<ProductHomeDTO> dtoList = cacheTemplate.execute(
-                FEATURED_KEY, FEATURED_LOCK_KEY, FEATURED_LOCK_TTL_MS, FEATURED_TTL,
+        List<ProductHomeDTO> dtoList = cacheTemplate.executeWithRefresh(
+                FEATURED_KEY, FEATURED_LOCK_KEY, FEATURED_LOCK_TTL_MS, FEATURED_TTL, FEATURED_STALE_TTL,
                 new TypeReference<List<ProductHomeDTO>>() {},
                 productRepository::findHomeProductsByFeatured);
 
 
-        // 이미지 url 처리
-        for (ProductHomeDTO dto : dtoList) {
-            dto.setMainImageUrl(imageUtil.getImageUrl(dto.getMainImageUrl()));
-        }
-
-        return dtoList;
+        // 이미지 url 처리 (캐시된 객체는 공유되므로 복사본에 적용)
+        return toHomeView(dtoList);
     }
 
     /**
@@ -88,21 +87,21 @@ public class ProductService {
      */
     public List<ProductHomeDTO> findPopularProductHome(int days, int limit) {
 
-        List<OrderStatus> statuses = List.of(OrderStatus.PAID, OrderStatus.PREPARING, OrderStatus.SHIPPING,
-            OrderStatus.DELIVERED);
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        LocalDate since = LocalDate.now().minusDays(days);
 
-        String cacheKey = PREFIX_POPULAR_KEY + ":days" + days + ":top" + limit;
+        String cacheKey = cacheTemplate.namespacedKey(PREFIX_POPULAR_KEY, ":days" + days + ":top" + limit);
         String lockKey = PREFIX_POPULAR_LOCK_KEY + ":days" + days + ":top" + limit;
 
         // 캐시에서 조회
 
-        List<ProductHomeDTO> dtoList = cacheTemplate.execute(cacheKey, lockKey, POPULAR_LOCK_TTL_MS, POPULAR_TTL,
+        List<ProductHomeDTO> dtoList = cacheTemplate.executeWithRefresh(cacheKey, lockKey, POPULAR_LOCK_TTL_MS,
+                POPULAR_TTL, POPULAR_STALE_TTL,
                 new TypeReference<List<ProductHomeDTO>>() {},
                 () -> {
-                    // 인기 상품 조회
-                    List<ProductSoldRow> popularProducts = orderProductRepository.findPopularProducts(
-                            statuses, since, PageRequest.of(0, limit));
+                    // 인기 상품 조회. 판매 랭킹이 준비되지 않았으면 일별 판매량 집계
+                    List<ProductSoldRow> popularProducts = productRankingService.findTopSold(days, limit)
+                            .orElseGet(() -> productSalesDailyRepository.findPopularProducts(
+                                    since, PageRequest.of(0, limit)));
 
                     // 상품 id만 뽑고
                     List<Long> productIds = popularProducts.stream().map(ProductSoldRow::productId).toList();
@@ -120,12 +119,17 @@ public class ProductService {
                             .toList();
                 });
 
-        // 이미지 url 처리
-        for (ProductHomeDTO dto : dtoList) {
-            dto.setMainImageUrl(imageUtil.getImageUrl(dto.getMainImageUrl()));
-        }
+        // 이미지 url 처리 (캐시된 객체는 공유되므로 복사본에 적용)
+        return toHomeView(dtoList);
+    }
 
-        return dtoList;
+    private List<ProductHomeDTO> toHomeView(List<ProductHomeDTO> cached) {
+        List<ProductHomeDTO> result = new ArrayList<>(cached.size());
+        for (ProductHomeDTO dto : cached) {
+            result.add(new ProductHomeDTO(dto.getId(), imageUtil.getImageUrl(dto.getMainImageUrl()),
+                    dto.getName(), dto.getPrice(), dto.getCreatedAt()));
+        }
+        return result;
     }
 
     // 홈에 보여줄 상품 업데이트 featured update
@@ -144,6 +148,85 @@ public class ProductService {
         );
     }
 
+    /**
+     * 상품 상세 조회 (캐시)
+     * 이미지는 저장 경로 그대로, 옵션 재고는 빼고 캐시한다. 재고는 주문 시점에 DB 에서 검증한다.
+     */
+    public ProductDetailDTO getProductDetail(Long id) {
+        ProductDetailDTO cached = cacheTemplate.execute(
+                detailKey(id), PREFIX_DETAIL_LOCK_KEY + ":" + id, DETAIL_LOCK_TTL_MS, DETAIL_TTL,
+                new TypeReference<ProductDetailDTO>() {},
+                () -> productRepository.findByIdWithImage(id)
+                        .map(product -> toDetailCache(product, productOptionRepository.findByProductId(id)))
+                        .orElse(null));
+
+        if (cached == null) {
+            throw new EntityNotFoundException("해당 상품을 찾을 수 없습니다.");
+        }
+        return toDetailView(cached);
+    }
+
+    private ProductDetailDTO toDetailCache(Product product, List<ProductOption> options) {
+        Image mainImage = product.getMainImage();
+        String mainImagePath = mainImage != null ? mainImage.getStoreFileName() : defaultImagePath;
+        List<String> images = product.getImages().stream().map(Image::getStoreFileName).toList();
+        List<ProductOptionDTO> optionDTOs = options.stream()
+                .map(o -> new ProductOptionDTO(o.getId(), o.getName(), null, o.getAdditionalPrice()))
+                .toList();
+
+        return new ProductDetailDTO(product.getId(), product.getPrice(), product.getName(), mainImagePath, images,
+                product.getDescription(), optionDTOs);
+    }
+
+    // 캐시된 객체는 공유되므로 복사본에 이미지 url 적용
+    private ProductDetailDTO toDetailView(ProductDetailDTO cached) {
+        List<String> images = cached.getImages().stream().map(imageUtil::getImageUrl).toList();
+        List<ProductOptionDTO> options = cached.getOptions().stream()
+                .map(o -> new ProductOptionDTO(o.getId(), o.getName(), o.getStock(), o.getAdditionalPrice()))
+                .toList();
+
+        return new ProductDetailDTO(cached.getId(), cached.getPrice(), cached.getName(),
+                imageUtil.getImageUrl(cached.getMainImageUrl()), images, cached.getDescription(), options);
+    }
+
+    private String detailKey(Long id) {
+        return cacheTemplate.namespacedKey(PREFIX_DETAIL_KEY, ":" + id);
+    }
+
+    // 트랜잭션 커밋 후 상품 상세 캐시 무효화
+    private void evictDetailAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cacheTemplate.delete(detailKey(id));
+                    }
+                }
+        );
+    }
+
+    // 상품과 옵션의 Redis 재고 예약 카운터 키
+    private List<String> stockKeys(Product product) {
+        List<String> keys = new ArrayList<>();
+        keys.add(StockReservationService.productKey(product.getId()));
+        for (ProductOption option : product.getOptions()) {
+            if (option.getId() != null) keys.add(StockReservationService.optionKey(option.getId()));
+        }
+        return keys;
+    }
+
+    // 관리자가 재고를 바꾸면 커밋 후 예약 카운터를 지워 DB 값으로 다시 적재되게 한다
+    private void evictStockAfterCommit(List<String> stockKeys) {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stockReservationService.evict(stockKeys);
+                    }
+                }
+        );
+    }
+
     public Image findImageById(Long imageId) {
         return imageRepository.findById(imageId)
             .orElseThrow();
@@ -246,7 +329,18 @@ public class ProductService {
             fileStorage.delete(image.getStoreFileName());
         }
 
+        // 재고 버킷 삭제
+        if (product.isStockSharded()) {
+            stockShardService.deleteShards(StockShardType.PRODUCT, product.getId());
+        }
+        for (ProductOption option : product.getOptions()) {
+            if (option.isStockSharded()) stockShardService.deleteShards(StockShardType.OPTION, option.getId());
+        }
+
+        List<String> stockKeys = stockKeys(product);
         productRepository.delete(product);
+        evictDetailAfterCommit(id);
+        evictStockAfterCommit(stockKeys);
     }
 
     // 상품 수정
@@ -256,9 +350,14 @@ public class ProductService {
 
         Product product = productRepository.findByIdWithOptions(id)
             .orElseThrow(() -> new EntityNotFoundException("해당 상품을 찾을 수 없습니다."));
+        // 삭제될 옵션 포함
+        List<String> stockKeys = stockKeys(product);
+        // 샤딩된 재고는 원래 행(0)을 그대로 두고 버킷에 다시 나눈다.
+        // 버킷 재분배는 JDBC 로 원래 행도 고치므로, 엔티티 flush 가 덮어쓰지 않도록 flush 뒤에 한다
+        Map<Long, Integer> shardedOptionStocks = new LinkedHashMap<>();
         product.update(
             updatedProduct.getPrice(),
-            updatedProduct.getStock(),
+            product.isStockSharded() ? product.getStock() : updatedProduct.getStock(),
             updatedProduct.getName(),
             updatedProduct.getDescription()
         );
@@ -277,13 +376,20 @@ public class ProductService {
             int stock = dto.getStock() != null ? dto.getStock() : 0;
             int additionalPrice = dto.getAdditionalPrice() != null ? dto.getAdditionalPrice() : 0;
             if (dto.getId() != null && existingOptions.containsKey(dto.getId())) {
-                existingOptions.get(dto.getId()).update(dto.getName(), stock, additionalPrice);
+                ProductOption option = existingOptions.get(dto.getId());
+                option.update(dto.getName(), option.isStockSharded() ? option.getStock() : stock, additionalPrice);
+                if (option.isStockSharded()) {
+                    shardedOptionStocks.put(option.getId(), stock);
+                }
                 incomingIds.add(dto.getId());
             } else {
                 product.addOption(new ProductOption(dto.getName(), stock, additionalPrice));
             }
         }
         // DTO에 없는 기존 옵션 삭제
+        existingOptions.values().stream()
+            .filter(o -> o.isStockSharded() && !incomingIds.contains(o.getId()))
+            .forEach(o -> stockShardService.deleteShards(StockShardType.OPTION, o.getId()));
         product.getOptions().removeIf(o -> !incomingIds.contains(o.getId()));
 
         // 서브 이미지 삭제
@@ -304,7 +410,14 @@ public class ProductService {
         if (files != null && !files.isEmpty()) {
             addExtraImages(files, product);
         }
-        productRepository.save(product);
+        productRepository.saveAndFlush(product);
+
+        if (product.isStockSharded()) {
+            stockShardService.redistribute(id, null, updatedProduct.getStock());
+        }
+        shardedOptionStocks.forEach((optionId, stock) -> stockShardService.redistribute(id, optionId, stock));
+        evictDetailAfterCommit(id);
+        evictStockAfterCommit(stockKeys);
     }
 
     private void addExtraImages(List<MultipartFile> files, Product product) throws IOException {
@@ -345,11 +458,9 @@ public class ProductService {
         Page<ProductHomeDTO> page;
         // 판매량 순 정렬
         if (request.getSortType() == ProductSortType.BEST_SELLING) {
-            List<OrderStatus> statuses = List.of(OrderStatus.PAID, OrderStatus.PREPARING,
-                    OrderStatus.SHIPPING, OrderStatus.DELIVERED);
             page = productRepository.searchProductBySales(
-                    keyword, minPrice, maxPrice, request.getSalesPeriod().getStartDate(),
-                    statuses, pageable);
+                    keyword, minPrice, maxPrice, request.getSalesPeriod().getStartDate().toLocalDate(),
+                    pageable);
 
         } else {
             // 일반 정렬
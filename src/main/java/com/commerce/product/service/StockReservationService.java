@@ -0,0 +1,351 @@
+package com.commerce.product.service;
+
+import com.commerce.common.support.RedisCacheClient;
+import com.commerce.common.support.RedisCircuitBreaker;
+import com.commerce.common.support.RedisDistributedLockProvider;
+import com.commerce.product.repository.ProductJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 재고 예약 계층.
+ *
+ * <p>상품/옵션별 가용 재고 카운터({@code commerce:stock:product:{id}}, {@code commerce:stock:option:{id}})를
+ * Redis 에 두고, 주문의 모든 품목을 Lua 스크립트로 한 번에 예약(차감)한다. 하나라도 부족하면 아무것도 차감하지 않고
+ * SOLD_OUT 을 반환해 MySQL 의 재고 행 락까지 가지 않고 거절한다.
+ * 예약에 성공해도 MySQL 차감({@code where stock >= qty})은 그대로 수행하므로 최종 판단은 DB 가 한다.
+ *
+ * <p>Redis 와 DB 에 아직 함께 반영되지 않은 수량은 재고 키별 진행 중 카운터({@code commerce:stock:inflight:...})에 둔다.
+ * 예약 후 DB 커밋 전({@link #reserve} ~ {@link #settle}/{@link #release}), DB 복원 후 Redis 반영 전
+ * ({@link #hold} ~ {@link #release}) 이 여기에 해당한다. 진행 중 수량이 있는 카운터는 DB 값과 달라도 정상이므로
+ * 적재/대사하지 않는다. 비정상 종료로 남은 진행 중 카운터는 TTL 로 사라진다.
+ *
+ * <p>카운터가 없으면 DB 재고로 적재(SET NX)한다. 주기적으로 DB 재고와 대사하며, 어긋난 카운터는 그 사이
+ * 예약이 없었을 때만 DB 값으로 맞춘다. {@link #rebuild()} 는 카운터를 모두 지워 DB 에서 다시 적재되게 한다.
+ * Redis 를 사용할 수 없으면 BYPASSED 를 반환하고 DB 만으로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+
+    public enum Result { RESERVED, SOLD_OUT, BYPASSED }
+
+    private static final String PREFIX_STOCK_KEY = "commerce:stock";
+    private static final String PRODUCT = "product";
+    private static final String OPTION = "option";
+    private static final String INFLIGHT = "inflight";
+    private static final long INFLIGHT_TTL_MS = 10 * 60 * 1000;
+    private static final String RECONCILE_LOCK_KEY = "commerce:stock:reconcile:lock";
+    private static final long RECONCILE_LOCK_TTL_MS = 5 * 60 * 1000;
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    private static final int MAX_LOAD_RETRY = 3;
+
+    // KEYS: 재고 카운터 n 개, 진행 중 카운터 n 개. ARGV: 수량 n 개, 진행 중 TTL
+    // 1: 예약 성공, 0: 재고 부족, -i: i 번째 카운터 없음 (적재 후 재시도)
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            for i = 1, n do
+              local stock = redis.call('GET', KEYS[i])
+              if not stock then return -i end
+              if tonumber(stock) < tonumber(ARGV[i]) then return 0 end
+            end
+            for i = 1, n do
+              redis.call('DECRBY', KEYS[i], ARGV[i])
+              redis.call('INCRBY', KEYS[n + i], ARGV[i])
+              redis.call('PEXPIRE', KEYS[n + i], ARGV[n + 1])
+            end
+            return 1
+            """, Long.class);
+
+    // 재고 카운터는 있을 때만 되돌리고 (없으면 다음 예약 때 DB 에서 적재), 진행 중 수량을 뺀다
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            for i = 1, n do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('INCRBY', KEYS[i], ARGV[i])
+              end
+              if redis.call('DECRBY', KEYS[n + i], ARGV[i]) <= 0 then
+                redis.call('DEL', KEYS[n + i])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // 진행 중 수량 증감 (ARGV: 부호 있는 수량 n 개, TTL). 0 이하가 되면 지운다
+    private static final DefaultRedisScript<Long> INFLIGHT_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #KEYS do
+              if redis.call('INCRBY', KEYS[i], ARGV[i]) <= 0 then
+                redis.call('DEL', KEYS[i])
+              else
+                redis.call('PEXPIRE', KEYS[i], ARGV[#KEYS + 1])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // 진행 중 수량이 없을 때만 DB 재고로 적재
+    private static final DefaultRedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX') then return 1 end
+            return 0
+            """, Long.class);
+
+    // 진행 중 수량이 없고 대사 시점에 읽은 값과 같을 때만 DB 값으로 교체
+    private static final DefaultRedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              redis.call('SET', KEYS[1], ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final RedisCacheClient redisCacheClient;
+    private final RedisDistributedLockProvider distributedLockProvider;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.stock.reservation.enabled:true}")
+    private boolean enabled;
+
+    public static String productKey(Long productId) {
+        return PREFIX_STOCK_KEY + ":" + PRODUCT + ":" + productId;
+    }
+
+    public static String optionKey(Long optionId) {
+        return PREFIX_STOCK_KEY + ":" + OPTION + ":" + optionId;
+    }
+
+    // 재고 키의 진행 중 카운터 키 (commerce:stock:inflight:{product|option}:{id})
+    private static String inflightKey(String stockKey) {
+        return PREFIX_STOCK_KEY + ":" + INFLIGHT + stockKey.substring(PREFIX_STOCK_KEY.length());
+    }
+
+    /**
+     * 모든 품목을 원자적으로 예약한다.
+     * @param qtyByKey 재고 키({@link #productKey}, {@link #optionKey}) 별 수량
+     */
+    public Result reserve(Map<String, Integer> qtyByKey) {
+        if (!enabled || qtyByKey.isEmpty()) return Result.BYPASSED;
+
+        List<String> keys = qtyByKey.keySet().stream().sorted().toList();
+        List<String> scriptKeys = withInflightKeys(keys);
+        Object[] args = scriptArgs(keys, qtyByKey, 1);
+
+        Result result = Result.BYPASSED;
+        for (int i = 0; i < MAX_LOAD_RETRY; i++) {
+            Long code = circuitBreaker.call(() -> redisTemplate.execute(RESERVE_SCRIPT, scriptKeys, args), () -> null);
+            if (code == null) break;
+            if (code == 1) {
+                result = Result.RESERVED;
+                break;
+            }
+            if (code == 0) {
+                result = Result.SOLD_OUT;
+                break;
+            }
+            loadCounters(keys);
+        }
+
+        meterRegistry.counter("app.stock.reservation", "result", result.name().toLowerCase()).increment();
+        return result;
+    }
+
+    /**
+     * 예약 취소 (DB 차감 롤백) 또는 DB 복원 반영 (결제 실패, 주문 취소 시 {@link #hold} 이후 커밋되면).
+     * 카운터를 되돌리고 진행 중 수량을 뺀다.
+     */
+    public void release(Map<String, Integer> qtyByKey) {
+        if (!enabled || qtyByKey.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>(qtyByKey.keySet());
+        List<String> scriptKeys = withInflightKeys(keys);
+        Object[] args = scriptArgs(keys, qtyByKey, 1);
+        circuitBreaker.run(() -> redisTemplate.execute(RELEASE_SCRIPT, scriptKeys, args));
+    }
+
+    // 예약한 수량의 DB 차감이 커밋됨 (또는 hold 한 복원이 롤백됨). 카운터는 그대로 두고 진행 중 수량만 뺀다
+    public void settle(Map<String, Integer> qtyByKey) {
+        adjustInflight(qtyByKey, -1);
+    }
+
+    // DB 재고 복원 전에 호출. 커밋 후 release 까지 카운터가 DB 보다 작은 것을 대사가 덮어쓰지 않게 한다
+    public void hold(Map<String, Integer> qtyByKey) {
+        adjustInflight(qtyByKey, 1);
+    }
+
+    private void adjustInflight(Map<String, Integer> qtyByKey, int sign) {
+        if (!enabled || qtyByKey.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>(qtyByKey.keySet());
+        List<String> inflightKeys = keys.stream().map(StockReservationService::inflightKey).toList();
+        Object[] args = scriptArgs(keys, qtyByKey, sign);
+        circuitBreaker.run(() -> redisTemplate.execute(INFLIGHT_SCRIPT, inflightKeys, args));
+    }
+
+    // 재고 키 뒤에 같은 순서로 진행 중 카운터 키를 붙인다
+    private static List<String> withInflightKeys(List<String> keys) {
+        List<String> result = new ArrayList<>(keys);
+        keys.forEach(key -> result.add(inflightKey(key)));
+        return result;
+    }
+
+    // 키 순서대로 수량(sign 을 곱한), 마지막에 진행 중 카운터 TTL
+    private static Object[] scriptArgs(List<String> keys, Map<String, Integer> qtyByKey, int sign) {
+        Object[] args = new Object[keys.size() + 1];
+        for (int i = 0; i < keys.size(); i++) {
+            args[i] = String.valueOf(sign * qtyByKey.get(keys.get(i)));
+        }
+        args[keys.size()] = String.valueOf(INFLIGHT_TTL_MS);
+        return args;
+    }
+
+    // 관리자가 재고를 직접 수정한 경우 카운터 삭제 (다음 예약 때 DB 에서 다시 적재)
+    public void evict(Collection<String> keys) {
+        if (!enabled || keys.isEmpty()) return;
+        circuitBreaker.run(() -> redisTemplate.unlink(keys));
+    }
+
+    // 복구용: 모든 카운터를 지워 DB 재고 기준으로 다시 적재되게 한다. 삭제한 카운터 수 반환
+    public long rebuild() {
+        long deleted = redisCacheClient.deleteByPattern(PREFIX_STOCK_KEY + ":*",
+                key -> key.startsWith(PREFIX_STOCK_KEY + ":" + PRODUCT + ":")
+                        || key.startsWith(PREFIX_STOCK_KEY + ":" + OPTION + ":"));
+        log.info("재고 예약 카운터 재구축. deleted={}", deleted);
+        return deleted;
+    }
+
+    /**
+     * DB 재고로 카운터 적재. 이미 있으면 건드리지 않는다.
+     * 진행 중 수량이 있으면 DB 재고가 곧 바뀌므로 적재하지 않는다 (예약은 BYPASSED 로 DB 만으로 처리).
+     * DB 를 읽기 전과 적재할 때 모두 확인해, 그 사이 커밋된 차감이 빠진 값으로 적재하지 않게 한다.
+     */
+    private void loadCounters(List<String> keys) {
+        List<String> inflight = circuitBreaker.call(() -> redisTemplate.opsForValue()
+                .multiGet(keys.stream().map(StockReservationService::inflightKey).toList()), () -> null);
+        if (inflight == null) return;
+
+        List<String> idle = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (inflight.get(i) == null) idle.add(keys.get(i));
+        }
+        if (idle.isEmpty()) return;
+
+        Map<String, Integer> stocks = findDbStocks(idle);
+        circuitBreaker.run(() -> {
+            for (String key : idle) {
+                // 삭제된 상품/옵션은 0 으로 적재해 DB 까지 가지 않게 한다
+                redisTemplate.execute(SEED_SCRIPT, List.of(key, inflightKey(key)),
+                        String.valueOf(stocks.getOrDefault(key, 0)));
+            }
+        });
+    }
+
+    /**
+     * 카운터와 DB 재고 대사. 여러 노드 중 락을 잡은 하나만 실행한다.
+     * 진행 중 수량이 있거나 읽은 뒤 예약/취소가 있었던 카운터는 이번 회차에 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.reservation.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.stock.reservation.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled || circuitBreaker.isOpen()) return;
+
+        String token = distributedLockProvider.tryLock(RECONCILE_LOCK_KEY, RECONCILE_LOCK_TTL_MS);
+        if (token == null) return;
+
+        try {
+            int fixed = 0;
+            List<String> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(PREFIX_STOCK_KEY + ":*").count(RECONCILE_BATCH_SIZE).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    if (parseId(key) == null) continue;
+
+                    batch.add(key);
+                    if (batch.size() >= RECONCILE_BATCH_SIZE) {
+                        fixed += reconcileBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            fixed += reconcileBatch(batch);
+            if (fixed > 0) {
+                log.info("재고 예약 카운터 대사. fixed={}", fixed);
+            }
+        } catch (Exception e) {
+            log.warn("재고 예약 카운터 대사 실패", e);
+        } finally {
+            distributedLockProvider.unlock(RECONCILE_LOCK_KEY, token);
+        }
+    }
+
+    private int reconcileBatch(List<String> keys) {
+        if (keys.isEmpty()) return 0;
+
+        // 카운터와 진행 중 수량을 DB 보다 먼저 읽는다. 이후 예약이 생기면 카운터가 바뀌어 교체하지 않는다
+        List<String> counters = redisTemplate.opsForValue().multiGet(keys);
+        List<String> inflight = redisTemplate.opsForValue()
+                .multiGet(keys.stream().map(StockReservationService::inflightKey).toList());
+        if (counters == null || inflight == null) return 0;
+        Map<String, Integer> stocks = findDbStocks(keys);
+
+        int fixed = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String counter = counters.get(i);
+            String dbStock = String.valueOf(stocks.getOrDefault(key, 0));
+            if (counter == null || inflight.get(i) != null || counter.equals(dbStock)) continue;
+
+            Long updated = redisTemplate.execute(COMPARE_AND_SET_SCRIPT, List.of(key, inflightKey(key)), counter, dbStock);
+            if (updated != null && updated == 1) fixed++;
+        }
+        return fixed;
+    }
+
+    private Map<String, Integer> findDbStocks(List<String> keys) {
+        List<Long> productIds = new ArrayList<>();
+        List<Long> optionIds = new ArrayList<>();
+        for (String key : keys) {
+            Long id = parseId(key);
+            if (id == null) continue;
+            if (key.startsWith(PREFIX_STOCK_KEY + ":" + PRODUCT + ":")) productIds.add(id);
+            else optionIds.add(id);
+        }
+
+        Map<String, Integer> result = new HashMap<>();
+        productJdbcRepository.findStocks(productIds).forEach((id, stock) -> result.put(productKey(id), stock));
+        productJdbcRepository.findOptionStocks(optionIds).forEach((id, stock) -> result.put(optionKey(id), stock));
+        return result;
+    }
+
+    // commerce:stock:{product|option}:{id} 에서 id 추출, 형식이 다르면 null
+    private static Long parseId(String key) {
+        String[] parts = key.split(":");
+        if (parts.length != 4) return null;
+        if (!PRODUCT.equals(parts[2]) && !OPTION.equals(parts[2])) return null;
+        try {
+            return Long.valueOf(parts[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
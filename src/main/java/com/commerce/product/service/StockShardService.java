@@ -0,0 +1,150 @@
+package com.commerce.product.service;
+
+import com.commerce.common.enums.StockShardType;
+import com.commerce.common.exception.BusinessException;
+import com.commerce.common.exception.EntityNotFoundException;
+import com.commerce.product.domain.Product;
+import com.commerce.product.domain.ProductOption;
+import com.commerce.product.repository.StockShardJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인기 상품(hot SKU) 재고 샤딩.
+ *
+ * <p>상품(또는 옵션) 재고를 stock_shard 버킷 N 개로 나누고 원래 행의 stock 은 0, stock_sharded 는 true 로 둔다.
+ * 결제 시 차감은 버킷 한 행만 잠그므로 같은 상품을 사는 주문들이 한 행 락에 줄 서지 않는다.
+ * 가용 재고는 버킷 합이다. 관리자가 켜고 끄며, 차감이 한쪽 버킷에 몰리면 재분배한다.
+ * 원래 행 → 버킷 순서로 잠근다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockShardService {
+
+    public static final int MAX_BUCKETS = 64;
+
+    private final StockShardJdbcRepository stockShardJdbcRepository;
+
+    /**
+     * 재고를 buckets 개로 나눈다. 이미 나뉘어 있으면 버킷 수를 바꿔 다시 나눈다.
+     * @param optionId null 이면 상품 재고
+     * @return 나눈 총 재고
+     */
+    @Transactional
+    public int shard(Long productId, Long optionId, int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new BusinessException("버킷 수는 1 ~ " + MAX_BUCKETS + " 사이여야 합니다.", HttpStatus.BAD_REQUEST);
+        }
+
+        int total = lockTotalStock(productId, optionId);
+        write(type(optionId), targetId(productId, optionId), total, buckets);
+        log.info("재고 샤딩. productId={}, optionId={}, buckets={}, stock={}", productId, optionId, buckets, total);
+        return total;
+    }
+
+    // 버킷 수는 유지하고 재고를 고르게 다시 나눈다
+    @Transactional
+    public int rebalance(Long productId, Long optionId) {
+        StockShardType type = type(optionId);
+        Long targetId = targetId(productId, optionId);
+
+        Integer baseStock = stockShardJdbcRepository.lockBaseStock(productId, optionId);
+        if (baseStock == null) {
+            throw new EntityNotFoundException("해당 상품을 찾을 수 없습니다.");
+        }
+        List<int[]> buckets = stockShardJdbcRepository.lockBuckets(type, targetId);
+        if (buckets.isEmpty()) {
+            throw new BusinessException("재고가 나뉘어 있지 않습니다.", HttpStatus.BAD_REQUEST);
+        }
+
+        int total = baseStock + buckets.stream().mapToInt(b -> b[1]).sum();
+        write(type, targetId, total, buckets.size());
+        return total;
+    }
+
+    // 버킷 합을 원래 행으로 되돌린다
+    @Transactional
+    public int unshard(Long productId, Long optionId) {
+        StockShardType type = type(optionId);
+        Long targetId = targetId(productId, optionId);
+
+        int total = lockTotalStock(productId, optionId);
+        stockShardJdbcRepository.deleteBuckets(type, targetId);
+        stockShardJdbcRepository.updateBase(type, targetId, total, false);
+        log.info("재고 샤딩 해제. productId={}, optionId={}, stock={}", productId, optionId, total);
+        return total;
+    }
+
+    // 관리자 재고 수정. 버킷 수는 유지하고 총 재고를 stock 으로 맞춘다
+    @Transactional
+    public void redistribute(Long productId, Long optionId, int stock) {
+        StockShardType type = type(optionId);
+        Long targetId = targetId(productId, optionId);
+
+        stockShardJdbcRepository.lockBaseStock(productId, optionId);
+        List<int[]> buckets = stockShardJdbcRepository.lockBuckets(type, targetId);
+        if (buckets.isEmpty()) {
+            stockShardJdbcRepository.updateBase(type, targetId, stock, false);
+            return;
+        }
+        write(type, targetId, stock, buckets.size());
+    }
+
+    // 상품/옵션 삭제 시 버킷도 삭제
+    @Transactional
+    public void deleteShards(StockShardType type, Long targetId) {
+        stockShardJdbcRepository.deleteBuckets(type, targetId);
+    }
+
+    // 가용 재고 (샤딩이면 버킷 합)
+    public int availableStock(Product product) {
+        return product.isStockSharded()
+                ? stockShardJdbcRepository.sumStock(StockShardType.PRODUCT, product.getId())
+                : product.getStock();
+    }
+
+    public int availableStock(ProductOption option) {
+        return option.isStockSharded()
+                ? stockShardJdbcRepository.sumStock(StockShardType.OPTION, option.getId())
+                : option.getStock();
+    }
+
+    // 원래 행과 버킷을 잠그고 총 재고 반환
+    private int lockTotalStock(Long productId, Long optionId) {
+        Integer baseStock = stockShardJdbcRepository.lockBaseStock(productId, optionId);
+        if (baseStock == null) {
+            throw new EntityNotFoundException("해당 상품을 찾을 수 없습니다.");
+        }
+        return baseStock + stockShardJdbcRepository.lockBuckets(type(optionId), targetId(productId, optionId))
+                .stream().mapToInt(b -> b[1]).sum();
+    }
+
+    private void write(StockShardType type, Long targetId, int total, int buckets) {
+        stockShardJdbcRepository.replaceBuckets(type, targetId, split(total, buckets));
+        stockShardJdbcRepository.updateBase(type, targetId, 0, true);
+    }
+
+    // total 을 buckets 개로 고르게 나눈다. 나머지는 앞 버킷부터 1 씩
+    static List<Integer> split(int total, int buckets) {
+        List<Integer> stocks = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            stocks.add(total / buckets + (i < total % buckets ? 1 : 0));
+        }
+        return stocks;
+    }
+
+    private static StockShardType type(Long optionId) {
+        return optionId == null ? StockShardType.PRODUCT : StockShardType.OPTION;
+    }
+
+    private static Long targetId(Long productId, Long optionId) {
+        return optionId == null ? productId : optionId;
+    }
+}
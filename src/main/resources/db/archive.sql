@@ -0,0 +1,9 @@
+-- 완료 주문 보관 테이블 (app.order.archive)
+-- 원본과 같은 컬럼/인덱스, FK 없음. 앱 시작 시 없으면 자동으로 만든다 (DB 계정에 CREATE 권한이 없으면 직접 적용)
+-- orders / order_product / delivery 에 컬럼을 추가하면 보관 테이블에도 같은 ALTER 를 적용할 것 (보관 작업은 양쪽에 모두 있는 컬럼만 옮긴다)
+CREATE TABLE orders_archive LIKE orders;
+CREATE TABLE order_product_archive LIKE order_product;
+CREATE TABLE delivery_archive LIKE delivery;
+
+-- 사용자 보관 주문 keyset 조회 (user_id, created_at, order_id)
+CREATE INDEX idx_order_archive_user_create ON orders_archive(user_id, created_at);
@@ -5,4 +5,22 @@ create INDEX idx_user_fk on orders(user_id);
 CREATE INDEX idx_order_user_create ON orders(user_id, created_at);
 
 -- product price index
-CREATE INDEX idx_product_price ON product(price);
\ No newline at end of file
+CREATE INDEX idx_product_price ON product(price);
+
+-- order status, updated_at index (만료 주문 sweeper keyset 조회)
+CREATE INDEX idx_order_status_updated ON orders(order_status, updated_at);
+
+-- order status, approved_at index (일별 판매량 재집계의 결제 시각 범위 조회)
+CREATE INDEX idx_order_status_approved ON orders(order_status, approved_at);
+
+-- 관리자 주문 검색 (app.admin.order-search.mode=fulltext)
+-- 주문번호/수령인 전화번호 부분 일치 (ngram, 기본 토큰 2글자)
+CREATE FULLTEXT INDEX ft_order_search ON orders(order_number, receiver_phone) WITH PARSER ngram;
+
+-- 주문자 이름 부분 일치
+CREATE FULLTEXT INDEX ft_user_name ON user(name) WITH PARSER ngram;
+
+-- 수령인 전화번호 뒷자리: 하이픈을 뺀 번호를 뒤집은 가상 컬럼의 prefix 검색
+ALTER TABLE orders ADD COLUMN receiver_phone_rev VARCHAR(32)
+    AS (reverse(replace(receiver_phone, '-', ''))) VIRTUAL;
+CREATE INDEX idx_order_phone_rev ON orders(receiver_phone_rev);
@@ -10,7 +10,7 @@ import org.springframework.context.annotation.Import;
 
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@SpringBootTest
+@SpringBootTest(properties = "app.warmup.enabled=false")
 @Import({TestDatabaseConfig.class, TestRedisConfig.class})
 public@interface IntegrationTest {
 }
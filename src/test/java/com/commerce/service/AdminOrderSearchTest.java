@@ -0,0 +1,133 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.admin.dto.AdminOrderSearchCond;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderService;
+
+@IntegrationTest
+class AdminOrderSearchTest {
+
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	// db/indexes.sql 의 검색 인덱스 (테스트 DB 는 ddl-auto 로 만들어지므로 직접 생성)
+	@BeforeEach
+	void createSearchIndexes() {
+		if (!hasIndex("orders", "ft_order_search")) {
+			jdbcTemplate.execute("create fulltext index ft_order_search on orders(order_number, receiver_phone) with parser ngram");
+		}
+		if (!hasIndex("user", "ft_user_name")) {
+			jdbcTemplate.execute("create fulltext index ft_user_name on user(name) with parser ngram");
+		}
+		if (!hasIndex("orders", "idx_order_phone_rev")) {
+			jdbcTemplate.execute("alter table orders add column receiver_phone_rev varchar(32) "
+				+ "as (reverse(replace(receiver_phone, '-', ''))) virtual");
+			jdbcTemplate.execute("create index idx_order_phone_rev on orders(receiver_phone_rev)");
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("주문번호, 전화번호 뒷자리, 주문자 이름으로 검색")
+	void searchByKeywordType() {
+		// given
+		User hong = saveUser("홍길동", "hong");
+		User kim = saveUser("김철수", "kim");
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		Orders hongOrder = prepareOrder(hong, product, "010-1111-2222");
+		Orders kimOrder = prepareOrder(kim, product, "01033334444");
+
+		// when, then
+		assertThat(search(hongOrder.getOrderNumber())).containsExactly(hongOrder.getId());
+		assertThat(search("2222")).containsExactly(hongOrder.getId());
+		assertThat(search("3333-4444")).containsExactly(kimOrder.getId());
+		// 앞자리로 검색 (하이픈 있이/없이)
+		assertThat(search("010-1111")).containsExactly(hongOrder.getId());
+		assertThat(search("0103333")).containsExactly(kimOrder.getId());
+		assertThat(search("길동")).containsExactly(hongOrder.getId());
+		assertThat(search("철수")).containsExactly(kimOrder.getId());
+		// ngram 토큰보다 짧은 검색어는 LIKE 검색
+		assertThat(search("김")).containsExactly(kimOrder.getId());
+	}
+
+	private List<Long> search(String keyword) {
+		AdminOrderSearchCond cond = new AdminOrderSearchCond();
+		cond.setKeyword(keyword);
+		return orderService.getOrderList(cond, PageRequest.of(0, 20)).getContent().stream()
+			.map(Orders::getId)
+			.toList();
+	}
+
+	private User saveUser(String name, String username) {
+		return userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey-" + username)
+			.email(username + "@naver.com")
+			.name(name)
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username(username)
+			.build());
+	}
+
+	private Orders prepareOrder(User user, Product product, String receiverPhone) {
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName(user.getName());
+		dto.setPhone(receiverPhone);
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+		return orderService.prepareOrderFromBuyNow(dto);
+	}
+
+	private boolean hasIndex(String table, String index) {
+		Integer count = jdbcTemplate.queryForObject(
+			"select count(*) from information_schema.statistics where table_schema = database() and table_name = ? and index_name = ?",
+			Integer.class, table, index);
+		return count != null && count > 0;
+	}
+}
@@ -0,0 +1,163 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.dto.OrderCursorPage;
+import com.commerce.order.dto.OrderDetailResponseDTO;
+import com.commerce.order.dto.OrderResponseDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderArchiveService;
+import com.commerce.order.service.OrderService;
+
+@IntegrationTest
+class OrderArchiveTest {
+
+	@Autowired private OrderArchiveService orderArchiveService;
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from delivery_archive");
+		jdbcTemplate.update("delete from delivery");
+		jdbcTemplate.update("delete from order_product_archive");
+		jdbcTemplate.update("delete from orders_archive");
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("오래된 완료 주문은 보관 테이블로 옮기고, 주문 목록/상세는 보관 주문까지 이어서 조회")
+	void archiveAndReadThrough() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		Orders oldDelivered = prepareOrder(product);
+		Orders oldCanceled = prepareOrder(product);
+		Orders oldReady = prepareOrder(product);
+		Orders recent = prepareOrder(product);
+
+		LocalDateTime old = LocalDateTime.now().minusDays(400);
+		age(oldDelivered, "DELIVERED", old.plusDays(2));
+		age(oldCanceled, "CANCELED", old.plusDays(1));
+		age(oldReady, "READY", old);
+
+		// when
+		int moved = orderArchiveService.archiveBatch(orderArchiveService.archivedBefore(), 100);
+
+		// then: 완료 상태만 보관
+		assertThat(moved).isEqualTo(2);
+		assertThat(orderRepository.findAll()).extracting(Orders::getId)
+			.containsExactlyInAnyOrder(oldReady.getId(), recent.getId());
+		assertThat(orderProductRepository.count()).isEqualTo(2);
+
+		// 원본과 보관 주문을 최신순으로 이어서 조회
+		OrderCursorPage first = orderService.findOrderListByCursor(user, null, 2, true);
+		assertThat(first.getTotalCount()).isEqualTo(4);
+		assertThat(first.getContent()).extracting(OrderResponseDTO::getOrderNumber)
+			.containsExactly(recent.getOrderNumber(), oldDelivered.getOrderNumber());
+		assertThat(first.getContent().get(1).getProductDTOS()).hasSize(1);
+
+		OrderCursorPage second = orderService.findOrderListByCursor(user, first.getNextCursor(), 2, false);
+		assertThat(second.getContent()).extracting(OrderResponseDTO::getOrderNumber)
+			.containsExactly(oldCanceled.getOrderNumber(), oldReady.getOrderNumber());
+		assertThat(second.hasNext()).isFalse();
+
+		OrderDetailResponseDTO detail = orderService.findOrderDetail(oldDelivered.getOrderNumber(), user);
+		assertThat(detail.getOrderItems()).hasSize(1);
+		assertThat(detail.getOrderItems().get(0).getQuantity()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("배송 정보가 있는 주문도 배송 정보와 함께 보관 테이블로 옮긴다")
+	void archiveOrderWithDelivery() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		Orders delivered = prepareOrder(product);
+		age(delivered, "DELIVERED", LocalDateTime.now().minusDays(400));
+		jdbcTemplate.update("insert into delivery (order_id, address, tracking_number) values (?, ?, ?)",
+			delivered.getId(), "서울", 1234L);
+
+		// when
+		int moved = orderArchiveService.archiveBatch(orderArchiveService.archivedBefore(), 100);
+
+		// then
+		assertThat(moved).isEqualTo(1);
+		assertThat(orderRepository.count()).isZero();
+		assertThat(jdbcTemplate.queryForObject("select count(*) from delivery", Long.class)).isZero();
+		assertThat(jdbcTemplate.queryForList("select tracking_number from delivery_archive where order_id = ?",
+			Long.class, delivered.getId())).containsExactly(1234L);
+	}
+
+	private void age(Orders order, String status, LocalDateTime at) {
+		jdbcTemplate.update("update orders set order_status = ?, created_at = ?, updated_at = ? where order_id = ?",
+			status, at, at, order.getId());
+	}
+
+	private Orders prepareOrder(Product product) {
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+		return orderService.prepareOrderFromBuyNow(dto);
+	}
+}
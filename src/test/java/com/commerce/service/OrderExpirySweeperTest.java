@@ -0,0 +1,114 @@
+package com.commerce.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.wiremock.spring.EnableWireMock;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderService;
+import com.commerce.payment.service.OrderExpirySweeper;
+import com.commerce.payment.service.PaymentTxService;
+
+@IntegrationTest
+@EnableWireMock
+@TestPropertySource(properties = {
+	"toss.base-url=${wiremock.server.baseUrl}",
+	"app.order.expiry.ready-ttl-ms=600000",
+	"app.order.expiry.pending-ttl-ms=600000"
+})
+class OrderExpirySweeperTest {
+
+	@Autowired private OrderExpirySweeper orderExpirySweeper;
+	@Autowired private PaymentTxService paymentTxService;
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("만료된 READY 주문은 취소, PAYMENT_PENDING 주문은 재고 복원 후 취소")
+	void sweepExpiredOrders() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		int stock = 10;
+		Product product = new Product();
+		product.update(1000, stock, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(2);
+
+		Orders ready = orderService.prepareOrderFromBuyNow(dto);
+		Orders pending = orderService.prepareOrderFromBuyNow(dto);
+		Orders fresh = orderService.prepareOrderFromBuyNow(dto);
+		paymentTxService.lockAndDeductStock(pending.getOrderNumber());
+
+		// 토스에 결제 없음
+		stubFor(get(urlPathMatching("/v1/payments/orders/.*"))
+			.willReturn(aResponse().withStatus(404)));
+
+		// 만료 시각 이전으로 이동
+		jdbcTemplate.update("update orders set updated_at = now() - interval 1 hour where order_id in (?, ?)",
+			ready.getId(), pending.getId());
+
+		// when
+		orderExpirySweeper.sweep();
+
+		// then
+		assertThat(orderRepository.findById(ready.getId()).orElseThrow().getOrderStatus())
+			.isEqualTo(OrderStatus.CANCELED);
+		assertThat(orderRepository.findById(pending.getId()).orElseThrow().getOrderStatus())
+			.isEqualTo(OrderStatus.CANCELED);
+		assertThat(orderRepository.findById(fresh.getId()).orElseThrow().getOrderStatus())
+			.isEqualTo(OrderStatus.READY);
+		assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isEqualTo(stock);
+	}
+}
@@ -0,0 +1,120 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.admin.dto.AdminOrderSearchCond;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderExportService;
+import com.commerce.order.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@IntegrationTest
+@TestPropertySource(properties = "app.admin.order-search.mode=like")
+class OrderExportTest {
+
+	@Autowired private OrderExportService orderExportService;
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private ObjectMapper objectMapper;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("검색 조건에 맞는 주문을 품목 단위 CSV 와 주문 단위 NDJSON 으로 내보냄")
+	void exportCsvAndNdjson() throws IOException {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품, \"특가\"", "설명");
+		product = productRepository.save(product);
+
+		Orders first = prepareOrder(product, "010-1111-2222");
+		Orders second = prepareOrder(product, "010-3333-4444");
+
+		// when
+		String csv = export(new AdminOrderSearchCond(), OrderExportService.Format.CSV);
+		AdminOrderSearchCond cond = new AdminOrderSearchCond();
+		cond.setKeyword("2222");
+		String ndjson = export(cond, OrderExportService.Format.NDJSON);
+
+		// then
+		List<String> csvLines = csv.lines().toList();
+		assertThat(csvLines.get(0)).startsWith("\uFEFF주문번호,");
+		assertThat(csvLines).hasSize(3);
+		// 최신 주문부터
+		assertThat(csvLines.get(1)).startsWith(second.getOrderNumber() + ",");
+		assertThat(csvLines.get(1)).contains("\"상품, \"\"특가\"\"\"");
+		assertThat(csvLines.get(2)).startsWith(first.getOrderNumber() + ",");
+
+		List<String> jsonLines = ndjson.lines().toList();
+		assertThat(jsonLines).hasSize(1);
+		JsonNode order = objectMapper.readTree(jsonLines.get(0));
+		assertThat(order.path("orderNumber").asText()).isEqualTo(first.getOrderNumber());
+		assertThat(order.path("buyerName").asText()).isEqualTo("홍길동");
+		assertThat(order.path("lines")).hasSize(1);
+		assertThat(order.path("lines").get(0).path("quantity").asInt()).isEqualTo(2);
+	}
+
+	private String export(AdminOrderSearchCond cond, OrderExportService.Format format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		orderExportService.export(cond, format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private Orders prepareOrder(Product product, String receiverPhone) {
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone(receiverPhone);
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(2);
+		return orderService.prepareOrderFromBuyNow(dto);
+	}
+}
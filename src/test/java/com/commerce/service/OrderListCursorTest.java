@@ -0,0 +1,176 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.common.exception.BusinessException;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.dto.OrderCursorPage;
+import com.commerce.order.dto.OrderResponseDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderService;
+import com.commerce.payment.service.PaymentTxService;
+
+@IntegrationTest
+class OrderListCursorTest {
+
+	@Autowired private OrderService orderService;
+	@Autowired private PaymentTxService paymentTxService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("cursor 로 끝까지 넘기면 (주문일시, id) 역순으로 중복, 누락 없이 조회")
+	void walkAllPages() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+
+		int total = 25;
+		List<Orders> orders = new ArrayList<>();
+		for (int i = 0; i < total; i++) {
+			orders.add(orderService.prepareOrderFromBuyNow(dto));
+		}
+		// 주문일시가 같은 주문이 페이지 경계에 걸치도록 맞춘다
+		jdbcTemplate.update("update orders set created_at = '2026-01-01 10:00:00' where order_id between ? and ?",
+			orders.get(5).getId(), orders.get(18).getId());
+
+		List<String> expected = jdbcTemplate.queryForList(
+			"select order_number from orders where user_id = ? order by created_at desc, order_id desc",
+			String.class, user.getId());
+
+		// when
+		List<String> actual = new ArrayList<>();
+		List<Long> totalCounts = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			OrderCursorPage page = orderService.findOrderListByCursor(user, cursor, 10, cursor == null);
+			page.getContent().stream().map(OrderResponseDTO::getOrderNumber).forEach(actual::add);
+			totalCounts.add(page.getTotalCount());
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		// then
+		assertThat(pages).isEqualTo(3);
+		assertThat(actual).containsExactlyElementsOf(expected);
+		assertThat(totalCounts).containsExactly((long) total, null, null);
+	}
+
+	@Test
+	@DisplayName("첫 페이지는 캐시되고, 주문 생성과 상태 변경 커밋 후 무효화")
+	void firstPageCacheEvictedOnTransition() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+
+		Orders first = orderService.prepareOrderFromBuyNow(dto);
+
+		// when, then: 같은 값을 재사용
+		OrderCursorPage page = orderService.findOrderListByCursor(user, null, 10, true);
+		assertThat(orderService.findOrderListByCursor(user, null, 10, true)).isSameAs(page);
+		assertThat(page.getTotalCount()).isEqualTo(1L);
+
+		// 상태 변경 후에는 새 상태
+		paymentTxService.lockAndDeductStock(first.getOrderNumber());
+		page = orderService.findOrderListByCursor(user, null, 10, true);
+		assertThat(page.getContent().get(0).getOrderStatus()).isEqualTo(OrderStatus.PAYMENT_PENDING);
+
+		// 주문 생성 후에는 새 주문 포함
+		orderService.prepareOrderFromBuyNow(dto);
+		page = orderService.findOrderListByCursor(user, null, 10, true);
+		assertThat(page.getTotalCount()).isEqualTo(2L);
+		assertThat(page.getContent()).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("잘못된 cursor 는 BusinessException")
+	void invalidCursor() {
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+
+		assertThatThrownBy(() -> orderService.findOrderListByCursor(user, "not-a-cursor", 10, false))
+			.isInstanceOf(BusinessException.class);
+	}
+}
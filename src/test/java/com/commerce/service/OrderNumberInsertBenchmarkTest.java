@@ -0,0 +1,104 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.common.support.id.OrderNumberStrategy;
+import com.commerce.common.support.id.SnowflakeOrderNumberStrategy;
+import com.commerce.common.support.id.UuidOrderNumberStrategy;
+import com.commerce.order.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문번호 방식(랜덤 UUID vs Snowflake) 별 orders insert 처리량과 인덱스 크기 비교.
+ * 매 회차 테이블을 비운 뒤 같은 수의 주문을 여러 스레드에서 batch insert 한다.
+ */
+@IntegrationTest
+@Tag("benchmark")
+@Slf4j
+class OrderNumberInsertBenchmarkTest {
+
+	private static final int THREADS = 8;
+	private static final int BATCHES_PER_THREAD = 20;
+	private static final int BATCH_SIZE = 500;
+
+	private static final String INSERT_SQL = """
+		insert into orders (order_number, final_price, order_status, order_type, created_at, updated_at)
+		values (?, 1000, 'READY', 'BUY_NOW', now(), now())
+		""";
+
+	@Autowired private JdbcTemplate jdbcTemplate;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private SnowflakeOrderNumberStrategy snowflakeOrderNumberStrategy;
+	@Autowired private UuidOrderNumberStrategy uuidOrderNumberStrategy;
+
+	@AfterEach
+	void cleanUp() {
+		orderRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("주문번호 방식 별 insert 처리량 비교")
+	void compareInsertThroughput() throws InterruptedException {
+		int total = THREADS * BATCHES_PER_THREAD * BATCH_SIZE;
+
+		for (OrderNumberStrategy strategy : List.of(uuidOrderNumberStrategy, snowflakeOrderNumberStrategy)) {
+			orderRepository.deleteAllInBatch();
+
+			long elapsedMs = insertOrders(strategy);
+
+			jdbcTemplate.execute("analyze table orders");
+			Long indexLength = jdbcTemplate.queryForObject(
+				"select index_length from information_schema.tables where table_schema = database() and table_name = 'orders'",
+				Long.class);
+			Long count = jdbcTemplate.queryForObject("select count(*) from orders", Long.class);
+
+			log.info("strategy={}, rows={}, elapsed={}ms, throughput={} rows/s, indexLength={}KB",
+				strategy.name(), count, elapsedMs, total * 1000L / Math.max(elapsedMs, 1),
+				indexLength == null ? 0 : indexLength / 1024);
+			assertThat(count).isEqualTo(total);
+		}
+	}
+
+	private long insertOrders(OrderNumberStrategy strategy) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch done = new CountDownLatch(THREADS);
+
+		long start = System.currentTimeMillis();
+		for (int t = 0; t < THREADS; t++) {
+			pool.submit(() -> {
+				try {
+					for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+						List<Object[]> args = new ArrayList<>(BATCH_SIZE);
+						for (int i = 0; i < BATCH_SIZE; i++) {
+							args.add(new Object[] {strategy.next()});
+						}
+						jdbcTemplate.batchUpdate(INSERT_SQL, args);
+					}
+				} catch (Exception e) {
+					log.error("{} insert 실패", strategy.name(), e);
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await(5, TimeUnit.MINUTES);
+		pool.shutdown();
+		return System.currentTimeMillis() - start;
+	}
+}
@@ -0,0 +1,115 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.common.exception.BusinessException;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.order.dto.OrderStatusChangeResult;
+import com.commerce.order.dto.OrderStatusChangeResult.SkipReason;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderService;
+
+@IntegrationTest
+class OrderStatusChangeTest {
+
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("전이표에 맞는 주문만 일괄 변경하고, 나머지는 사유와 함께 제외")
+	void bulkTransition() {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product product = new Product();
+		product.update(1000, 100, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+
+		List<Long> paidIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Orders order = orderService.prepareOrderFromBuyNow(dto);
+			jdbcTemplate.update("update orders set order_status = 'PAID' where order_id = ?", order.getId());
+			paidIds.add(order.getId());
+		}
+		Long readyId = orderService.prepareOrderFromBuyNow(dto).getId();
+		Long missingId = -1L;
+
+		List<Long> requested = new ArrayList<>(paidIds);
+		requested.add(readyId);
+		requested.add(missingId);
+
+		// when
+		OrderStatusChangeResult result = orderService.changeStatus(requested, OrderStatus.SHIPPING);
+
+		// then
+		assertThat(result.changedIds()).containsExactlyInAnyOrderElementsOf(paidIds);
+		assertThat(result.skipped())
+			.extracting(OrderStatusChangeResult.Skipped::orderId, OrderStatusChangeResult.Skipped::reason)
+			.containsExactlyInAnyOrder(
+				tuple(readyId, SkipReason.NOT_ALLOWED),
+				tuple(missingId, SkipReason.NOT_FOUND));
+		assertThat(orderRepository.findAllById(paidIds))
+			.allMatch(o -> o.getOrderStatus() == OrderStatus.SHIPPING);
+		assertThat(orderRepository.findById(readyId).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.READY);
+	}
+
+	@Test
+	@DisplayName("관리자가 바꿀 수 없는 목표 상태는 거절")
+	void rejectUnsupportedTarget() {
+		assertThatThrownBy(() -> orderService.changeStatus(List.of(1L), OrderStatus.PAYMENT_PENDING))
+			.isInstanceOf(BusinessException.class);
+	}
+}
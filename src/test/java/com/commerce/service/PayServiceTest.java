@@ -30,6 +30,7 @@ import org.wiremock.spring.EnableWireMock;
 import com.commerce.config.IntegrationTest;
 import com.commerce.order.domain.Orders;
 import com.commerce.product.domain.Product;
+import com.commerce.product.domain.ProductOption;
 import com.commerce.user.domain.User;
 import com.commerce.common.enums.OrderStatus;
 import com.commerce.common.enums.OrderType;
@@ -40,6 +41,7 @@ import com.commerce.cart.repository.CartProductRepository;
 import com.commerce.cart.repository.CartRepository;
 import com.commerce.order.repository.OrderProductRepository;
 import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductOptionRepository;
 import com.commerce.product.repository.ProductRepository;
 import com.commerce.user.repository.UserRepository;
 import com.commerce.common.util.SecurityUtil;
@@ -71,6 +73,7 @@ class PayServiceTest {
 	private OrderProductRepository orderProductRepository;
 
 	@Autowired ProductRepository productRepository;
+	@Autowired ProductOptionRepository productOptionRepository;
 
 	@MockitoBean SecurityUtil securityUtil;
 	@Autowired
@@ -103,6 +106,7 @@ class PayServiceTest {
 		orderRepository.deleteAllInBatch();        // user를 물고 있음(자식)
 		cartProductRepository.deleteAllInBatch();
 		cartRepository.deleteAllInBatch();
+		productOptionRepository.deleteAllInBatch();
 		productRepository.deleteAllInBatch();      // 더 이상 참조 없을 때
 		userRepository.deleteAllInBatch();         // orders가 먼저 삭제되어야 안전
 	}
@@ -257,6 +261,50 @@ class PayServiceTest {
 
 	}
 
+	@Test
+	@DisplayName("다른 사용자의 주문은 취소할 수 없다")
+	void cancelOtherUsersOrderForbidden() {
+		// given
+		User owner = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		User other = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey-other")
+			.email("other@naver.com")
+			.name("김철수")
+			.phone("01087654321")
+			.role(RoleType.ROLE_USER)
+			.username("other")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(owner);
+
+		Product product = new Product();
+		product.update(1000, 10, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+		Orders order = orderService.prepareOrderFromBuyNow(dto);
+
+		// when, then
+		assertThatThrownBy(() -> payService.cancel(order.getOrderNumber(), "단순 변심", other.getId()))
+			.isInstanceOf(ResponseStatusException.class)
+			.satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+		assertThat(orderRepository.findById(order.getId()).orElseThrow().getOrderStatus())
+			.isEqualTo(OrderStatus.READY);
+	}
+
 	@Test
 	@DisplayName("재고 부족 시 토스 호출 없이 예외 발생")
 	void stockExhaustedBeforeToss() {
@@ -359,4 +407,53 @@ class PayServiceTest {
 		assertThat(afterOrder.getOrderStatus()).isEqualTo(OrderStatus.CANCELED);
 	}
 
-}
\ No newline at end of file
+	@Test
+	@DisplayName("옵션 상품 결제 시 옵션 재고만 차감")
+	void payConfirmDeductsOptionStock() {
+		// given
+		User user = User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build();
+		user = userRepository.save(user);
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		int productStock = 100;
+		int optionStock = 10;
+		int quantity = 3;
+
+		Product product = new Product();
+		product.update(1000, productStock, "상품1", "설명");
+		product.addOption(new ProductOption("L", optionStock, 500));
+		product = productRepository.save(product);
+		Long optionId = product.getOptions().get(0).getId();
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setOptionId(optionId);
+		dto.setQuantity(quantity);
+
+		Orders order = orderService.prepareOrderFromBuyNow(dto);
+
+		// when
+		PayConfirmDTO req = new PayConfirmDTO(
+			UUID.randomUUID().toString(), order.getOrderNumber(), order.getFinalPrice());
+		payService.confirm(req, user.getId());
+
+		// then
+		Product afterProduct = productRepository.findById(product.getId()).orElseThrow();
+		ProductOption afterOption = productOptionRepository.findById(optionId).orElseThrow();
+		assertThat(afterProduct.getStock()).isEqualTo(productStock);
+		assertThat(afterOption.getStock()).isEqualTo(optionStock - quantity);
+	}
+
+}
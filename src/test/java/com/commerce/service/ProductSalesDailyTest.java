@@ -0,0 +1,142 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.ProductSortType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.common.enums.SalesPeriod;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.product.dto.ProductHomeDTO;
+import com.commerce.product.dto.ProductSearchRequest;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.product.repository.ProductSalesDailyRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.order.service.OrderService;
+import com.commerce.payment.service.PaymentTxService;
+import com.commerce.product.service.ProductSalesDailyService;
+import com.commerce.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@IntegrationTest
+class ProductSalesDailyTest {
+
+	@Autowired private PaymentTxService paymentTxService;
+	@Autowired private ProductSalesDailyService productSalesDailyService;
+	@Autowired private ProductService productService;
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private ProductSalesDailyRepository productSalesDailyRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+	@Autowired private ObjectMapper objectMapper;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@AfterEach
+	void cleanUp() {
+		productSalesDailyRepository.deleteAllInBatch();
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("결제 성공/취소 시 일별 판매량을 증감하고, 재집계 결과와 판매량 정렬이 일치")
+	void incrementOnPaymentAndRebuild() throws Exception {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product unsold = saveProduct("판매량테스트 A");
+		Product sold = saveProduct("판매량테스트 B");
+
+		pay(sold, 3);
+		Orders canceled = pay(sold, 2);
+		LocalDate today = LocalDate.now();
+
+		// when
+		assertThat(soldQuantity(sold, today)).isEqualTo(5);
+		paymentTxService.beginCancel(canceled.getId());
+		paymentTxService.applyCancelSuccess(canceled.getId(), true);
+
+		// then
+		assertThat(soldQuantity(sold, today)).isEqualTo(3);
+
+		// 주문 기준 재집계와 같은 값
+		productSalesDailyService.rebuild(today);
+		assertThat(soldQuantity(sold, today)).isEqualTo(3);
+		assertThat(productSalesDailyRepository.findPopularProducts(today.minusDays(7), PageRequest.of(0, 10)))
+			.extracting(row -> row.productId())
+			.containsExactly(sold.getId());
+
+		ProductSearchRequest request = new ProductSearchRequest();
+		request.setKeyword("판매량테스트");
+		request.setSortType(ProductSortType.BEST_SELLING);
+		request.setSalesPeriod(SalesPeriod.WEEK);
+		List<Long> ids = productService.searchProducts(request, PageRequest.of(0, 10)).getContent().stream()
+			.map(ProductHomeDTO::getId)
+			.toList();
+		assertThat(ids).containsExactly(sold.getId(), unsold.getId());
+	}
+
+	private Product saveProduct(String name) {
+		Product product = new Product();
+		product.update(1000, 100, name, "설명");
+		return productRepository.save(product);
+	}
+
+	private Orders pay(Product product, int quantity) throws Exception {
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(quantity);
+		Orders order = orderService.prepareOrderFromBuyNow(dto);
+
+		paymentTxService.lockAndDeductStock(order.getOrderNumber());
+		paymentTxService.applyPaymentSuccess(order.getOrderNumber(), objectMapper.readTree("""
+			{ "method": "카드", "approvedAt": "%s+09:00" }
+			""".formatted(LocalDateTime.now().withNano(0))), order.getUser().getId(), "pk_" + UUID.randomUUID());
+		return order;
+	}
+
+	private long soldQuantity(Product product, LocalDate date) {
+		return jdbcTemplate.query("select quantity from product_sales_daily where product_id = ? and sales_date = ?",
+			rs -> rs.next() ? rs.getLong(1) : 0L, product.getId(), date);
+	}
+}
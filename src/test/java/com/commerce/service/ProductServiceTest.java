@@ -1,17 +1,18 @@
 package com.commerce.service;
 
+import com.commerce.common.exception.EntityNotFoundException;
 import com.commerce.config.IntegrationTest;
 import com.commerce.product.dto.ProductHomeDTO;
-import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.product.repository.ProductSalesDailyRepository;
 import com.commerce.product.repository.ProductRepository;
 import com.commerce.common.support.ProductCachePolicy;
+import com.commerce.common.template.CacheTemplate;
 import com.commerce.product.service.ProductService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
@@ -22,6 +23,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 @IntegrationTest
 @Slf4j
 public class ProductServiceTest {
@@ -30,20 +33,20 @@ public class ProductServiceTest {
     private ProductService productService;
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    private CacheTemplate cacheTemplate;
 
     @MockitoSpyBean
     private ProductRepository productRepository;
 
     @MockitoBean
-    private OrderProductRepository orderProductRepository;
+    private ProductSalesDailyRepository productSalesDailyRepository;
 
     private static final int LOOP_COUNT = 300;
 
     @Test
     @DisplayName("관리자 설정한 홈 상품 분산락 테스트")
     public void featuredProductLockTest() throws InterruptedException {
-        redisTemplate.delete(ProductCachePolicy.FEATURED_KEY); // 캐시 삭제
+        cacheTemplate.delete(ProductCachePolicy.FEATURED_KEY); // 캐시 삭제 (L1 + Redis)
 
         ExecutorService executor = getExecutor();
         CountDownLatch readyLatch = new CountDownLatch(LOOP_COUNT);
@@ -79,7 +82,7 @@ public class ProductServiceTest {
     public void PopularProductLockTest() throws InterruptedException {
         int days = 7;
         int limit = 20;
-        redisTemplate.delete(ProductCachePolicy.PREFIX_POPULAR_KEY + ":days" + days + ":top" + limit); // 캐시 삭제
+        cacheTemplate.bumpNamespace(ProductCachePolicy.PREFIX_POPULAR_KEY); // 인기 상품 캐시 무효화 (L1 + Redis)
 
         ExecutorService executor = getExecutor();
         CountDownLatch readyLatch = new CountDownLatch(LOOP_COUNT);
@@ -106,10 +109,23 @@ public class ProductServiceTest {
         fireLatch.countDown();
         doneLatch.await();
 
-        Mockito.verify(orderProductRepository, Mockito.times(1))
-                .findPopularProducts(Mockito.anyList(), Mockito.any(), Mockito.any());
+        Mockito.verify(productSalesDailyRepository, Mockito.times(1))
+                .findPopularProducts(Mockito.any(), Mockito.any());
     }
 
+    @Test
+    @DisplayName("없는 상품 상세는 짧게 캐시되어 DB 를 반복 조회하지 않는다")
+    public void productDetailNotFoundCachedTest() {
+        Long id = -1L;
+        cacheTemplate.bumpNamespace(ProductCachePolicy.PREFIX_DETAIL_KEY);
+
+        assertThatThrownBy(() -> productService.getProductDetail(id))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> productService.getProductDetail(id))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        Mockito.verify(productRepository, Mockito.times(1)).findByIdWithImage(id);
+    }
 
     private ExecutorService getExecutor() {
         ExecutorService executor = Executors.newFixedThreadPool(300);
@@ -0,0 +1,155 @@
+package com.commerce.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.wiremock.spring.EnableWireMock;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderStatus;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.payment.dto.PayConfirmDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.payment.service.PayService;
+import com.commerce.order.service.OrderService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@IntegrationTest
+@Slf4j
+@EnableWireMock
+@TestPropertySource(properties = {
+	"toss.base-url=${wiremock.server.baseUrl}",
+	"app.stock.batch.enabled=true",
+	"app.stock.batch.window-ms=5"
+})
+class StockDeductionBatcherTest {
+
+	@Autowired private PayService payService;
+	@Autowired private OrderService orderService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private UserRepository userRepository;
+
+	@MockitoBean SecurityUtil securityUtil;
+
+	@BeforeEach
+	void stubs() {
+		stubFor(post(urlEqualTo("/v1/payments/confirm"))
+			.willReturn(aResponse()
+				.withStatus(200)
+				.withHeader("Content-Type", "application/json")
+				.withBody("""
+					{
+					  "method": "카드",
+					  "approvedAt": "2026-01-03T01:23:45+09:00"
+					}
+					""")));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("배치 차감 시 재고를 넘는 주문만 개별적으로 실패")
+	void batchDeductionSoldOutPerOrder() throws InterruptedException {
+		// given
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		int stock = 30;
+		int n = 50;
+		Product product = new Product();
+		product.update(1000, stock, "상품1", "설명");
+		product = productRepository.save(product);
+
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+
+		List<PayConfirmDTO> reqs = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			Orders orders = orderService.prepareOrderFromBuyNow(dto);
+			reqs.add(new PayConfirmDTO(UUID.randomUUID().toString(), orders.getOrderNumber(), orders.getFinalPrice()));
+		}
+
+		// when
+		ExecutorService pool = Executors.newFixedThreadPool(32);
+		CountDownLatch done = new CountDownLatch(n);
+		AtomicInteger success = new AtomicInteger();
+		AtomicInteger soldOut = new AtomicInteger();
+		Long userId = user.getId();
+		for (PayConfirmDTO req : reqs) {
+			pool.submit(() -> {
+				try {
+					payService.confirm(req, userId);
+					success.incrementAndGet();
+				} catch (IllegalStateException e) {
+					soldOut.incrementAndGet();
+				} catch (Exception e) {
+					log.error("pay confirm 실패", e);
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		boolean finished = done.await(60, TimeUnit.SECONDS);
+		pool.shutdown();
+
+		// then
+		Product after = productRepository.findById(product.getId()).orElseThrow();
+		long paid = orderRepository.findAll().stream()
+			.filter(o -> o.getOrderStatus() == OrderStatus.PAID)
+			.count();
+
+		assertThat(finished).isTrue();
+		assertThat(success.get()).isEqualTo(stock);
+		assertThat(soldOut.get()).isEqualTo(n - stock);
+		assertThat(after.getStock()).isZero();
+		assertThat(paid).isEqualTo(stock);
+	}
+}
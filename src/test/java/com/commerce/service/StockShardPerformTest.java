@@ -0,0 +1,208 @@
+package com.commerce.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.wiremock.spring.EnableWireMock;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.order.domain.Orders;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.User;
+import com.commerce.common.enums.OrderType;
+import com.commerce.common.enums.RoleType;
+import com.commerce.order.dto.OrderCreateRequestDTO;
+import com.commerce.payment.dto.PayConfirmDTO;
+import com.commerce.order.repository.OrderProductRepository;
+import com.commerce.order.repository.OrderRepository;
+import com.commerce.product.repository.ProductRepository;
+import com.commerce.product.repository.ProductSalesDailyRepository;
+import com.commerce.user.repository.UserRepository;
+import com.commerce.common.util.SecurityUtil;
+import com.commerce.payment.service.PayService;
+import com.commerce.order.service.OrderService;
+import com.commerce.product.service.StockShardService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 상품에 결제가 몰릴 때 단일 재고 행과 버킷 샤딩의 행 락 대기 비교.
+ * InnoDB 의 Innodb_row_lock_waits / Innodb_row_lock_time 증가량을 함께 기록한다.
+ */
+@IntegrationTest
+@Tag("benchmark")
+@Slf4j
+@EnableWireMock
+@TestPropertySource(properties = {
+	"toss.base-url=${wiremock.server.baseUrl}",
+	"app.stock.reservation.enabled=false"	// DB 행 락만 비교
+})
+public class StockShardPerformTest {
+	private static final int CONCURRENCY = 100;
+	private static final int POOL_SIZE = 32;
+	private static final int STOCK = 1000;
+	private static final int BUCKETS = 8;
+
+	@Autowired private PayService payService;
+	@Autowired private OrderService orderService;
+	@Autowired private StockShardService stockShardService;
+	@Autowired private OrderRepository orderRepository;
+	@Autowired private OrderProductRepository orderProductRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private ProductSalesDailyRepository productSalesDailyRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	SecurityUtil securityUtil;
+
+	@BeforeEach
+	void stubs() {
+		stubFor(post(urlEqualTo("/v1/payments/confirm"))
+			.willReturn(aResponse()
+				.withStatus(200)
+				.withHeader("Content-Type", "application/json")
+				.withBody("""
+					{
+					  "method": "카드",
+					  "approvedAt": "2026-01-03T01:23:45+09:00"
+					}
+					""")));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from delivery");
+		productSalesDailyRepository.deleteAllInBatch();
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		jdbcTemplate.update("delete from stock_shard");
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("재고 차감 행 락 대기 비교 - 단일 행 vs 버킷")
+	void compareSingleRowAndShardedStock() throws InterruptedException {
+		User user = userRepository.save(User.builder()
+			.customerPaymentKey("customerPaymentKey")
+			.email("c@naver.com")
+			.name("홍길동")
+			.phone("01012345678")
+			.role(RoleType.ROLE_USER)
+			.username("username")
+			.build());
+		Mockito.when(securityUtil.getCurrentUser()).thenReturn(user);
+
+		Product single = createProduct("단일 행 상품");
+		Product sharded = createProduct("버킷 상품");
+		stockShardService.shard(sharded.getId(), null, BUCKETS);
+
+		List<PayConfirmDTO> singleReqs = prepareOrders(single);
+		List<PayConfirmDTO> shardedReqs = prepareOrders(sharded);
+
+		Result singleResult = runBenchmark("single", singleReqs, user.getId());
+		Result shardedResult = runBenchmark("sharded", shardedReqs, user.getId());
+
+		logResult(singleResult);
+		logResult(shardedResult);
+
+		// 재고 정합성
+		int singleStock = productRepository.findById(single.getId()).orElseThrow().getStock();
+		int shardedStock = stockShardService.availableStock(productRepository.findById(sharded.getId()).orElseThrow());
+		assertThat(singleStock).isEqualTo(STOCK - singleResult.times().size());
+		assertThat(shardedStock).isEqualTo(STOCK - shardedResult.times().size());
+	}
+
+	private Product createProduct(String name) {
+		Product product = new Product();
+		product.update(1000, STOCK, name, "설명");
+		return productRepository.save(product);
+	}
+
+	private List<PayConfirmDTO> prepareOrders(Product product) {
+		OrderCreateRequestDTO dto = new OrderCreateRequestDTO();
+		dto.setName("홍길동");
+		dto.setPhone("01012345678");
+		dto.setAddress("서울");
+		dto.setAddressDetail("어딘가");
+		dto.setOrderType(OrderType.BUY_NOW);
+		dto.setProductId(product.getId());
+		dto.setQuantity(1);
+
+		List<PayConfirmDTO> reqs = new ArrayList<>();
+		for (int i = 0; i < CONCURRENCY; i++) {
+			Orders orders = orderService.prepareOrderFromBuyNow(dto);
+			reqs.add(new PayConfirmDTO("pk_" + UUID.randomUUID(), orders.getOrderNumber(), orders.getFinalPrice()));
+		}
+		return reqs;
+	}
+
+	private record Result(String version, List<Long> times, long lockWaits, long lockTimeMs) {
+	}
+
+	private Result runBenchmark(String version, List<PayConfirmDTO> reqs, Long userId) throws InterruptedException {
+		List<Long> times = Collections.synchronizedList(new ArrayList<>());
+		long lockWaitsBefore = innodbStatus("Innodb_row_lock_waits");
+		long lockTimeBefore = innodbStatus("Innodb_row_lock_time");
+
+		ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE);
+		CountDownLatch done = new CountDownLatch(reqs.size());
+		for (PayConfirmDTO req : reqs) {
+			pool.submit(() -> {
+				long start = System.currentTimeMillis();
+				try {
+					payService.confirm(req, userId);
+					times.add(System.currentTimeMillis() - start);
+				} catch (Exception e) {
+					log.error("{} pay confirm 실패", version, e);
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await(60, TimeUnit.SECONDS);
+		pool.shutdown();
+
+		return new Result(version, times,
+			innodbStatus("Innodb_row_lock_waits") - lockWaitsBefore,
+			innodbStatus("Innodb_row_lock_time") - lockTimeBefore);
+	}
+
+	private long innodbStatus(String name) {
+		return jdbcTemplate.query("show global status like ?",
+			rs -> rs.next() ? rs.getLong("Value") : 0L, name);
+	}
+
+	private void logResult(Result result) {
+		log.info("=== {} 재고 차감 결과 ===", result.version());
+		log.info("동시 요청 수: {}, 성공: {}", CONCURRENCY, result.times().size());
+		log.info("행 락 대기 횟수: {}", result.lockWaits());
+		log.info("행 락 대기 시간 합: {}ms", result.lockTimeMs());
+
+		if (result.times().isEmpty()) return;
+		double avg = result.times().stream().mapToLong(Long::longValue).average().orElse(0);
+		long max = result.times().stream().mapToLong(Long::longValue).max().orElse(0);
+		log.info("평균 실행 시간: {}ms", String.format("%.2f", avg));
+		log.info("최대 실행 시간: {}ms", max);
+	}
+}
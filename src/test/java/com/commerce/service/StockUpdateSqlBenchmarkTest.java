@@ -0,0 +1,103 @@
+package com.commerce.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commerce.config.IntegrationTest;
+import com.commerce.product.domain.Product;
+import com.commerce.product.repository.ProductJdbcRepository;
+import com.commerce.product.repository.ProductJdbcRepository.StockUpdateSqlMode;
+import com.commerce.product.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재고 UPDATE 문 형태(UNION, BUCKETED, JSON_TABLE) 별 실행 시간과 서버 prepare 횟수 비교 (품목 수 1 ~ 50).
+ * 오래 걸리므로 -Pbenchmark 로 실행할 때만 돈다.
+ */
+@IntegrationTest
+@Tag("benchmark")
+@Slf4j
+class StockUpdateSqlBenchmarkTest {
+
+	private static final int[] CART_SIZES = {1, 2, 3, 5, 8, 13, 20, 32, 50};
+	private static final int WARM_UP = 50;
+	private static final int ITERATIONS = 300;
+
+	@Autowired private ProductJdbcRepository productJdbcRepository;
+	@Autowired private ProductRepository productRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+	@Autowired private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		ReflectionTestUtils.setField(productJdbcRepository, "sqlMode", StockUpdateSqlMode.BUCKETED);
+		productRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("재고 UPDATE 문 형태 별 성능 비교")
+	void compareStockUpdateShapes() {
+		List<Long> productIds = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Product product = new Product();
+			product.update(1000, 1_000_000, "상품" + i, "설명");
+			productIds.add(productRepository.save(product).getId());
+		}
+
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		for (StockUpdateSqlMode mode : StockUpdateSqlMode.values()) {
+			ReflectionTestUtils.setField(productJdbcRepository, "sqlMode", mode);
+
+			for (int size : CART_SIZES) {
+				Map<Long, Integer> qtyByProductId = new HashMap<>();
+				productIds.subList(0, size).forEach(id -> qtyByProductId.put(id, 1));
+
+				for (int i = 0; i < WARM_UP; i++) {
+					deductAndRestore(tx, qtyByProductId);
+				}
+
+				long prepareBefore = globalStatus("Com_stmt_prepare");
+				long start = System.nanoTime();
+				for (int i = 0; i < ITERATIONS; i++) {
+					deductAndRestore(tx, qtyByProductId);
+				}
+				long elapsedMicros = (System.nanoTime() - start) / 1000;
+				long prepares = globalStatus("Com_stmt_prepare") - prepareBefore;
+
+				log.info("mode={}, items={}, avg={}us, serverPrepares={}",
+					mode, size, String.format("%.1f", (double) elapsedMicros / ITERATIONS), prepares);
+			}
+		}
+
+		// 차감 후 복원했으므로 재고 그대로
+		assertThat(productRepository.findAllById(productIds))
+			.allMatch(product -> product.getStock() == 1_000_000);
+	}
+
+	private void deductAndRestore(TransactionTemplate tx, Map<Long, Integer> qtyByProductId) {
+		tx.executeWithoutResult(status -> {
+			productJdbcRepository.updateStock(qtyByProductId, false);
+			productJdbcRepository.updateStock(qtyByProductId, true);
+		});
+	}
+
+	private long globalStatus(String name) {
+		return jdbcTemplate.query("show global status like ?",
+			rs -> rs.next() ? rs.getLong("Value") : 0L, name);
+	}
+}
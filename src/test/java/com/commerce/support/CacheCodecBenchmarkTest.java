@@ -0,0 +1,128 @@
+package com.commerce.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.commerce.common.support.CacheEntry;
+import com.commerce.common.support.codec.CacheValueSerializer;
+import com.commerce.common.support.codec.JsonCacheCodec;
+import com.commerce.common.support.codec.SmileCacheCodec;
+import com.commerce.product.dto.ProductHomeDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 홈 상품 캐시(ProductHomeDTO 20개) 기준으로 기존 JSON 문자열 경로와 codec 별 크기, 인코딩/디코딩 시간을 비교한다.
+ */
+@Tag("benchmark")
+@Slf4j
+class CacheCodecBenchmarkTest {
+
+	private static final int ITEM_COUNT = 20;
+	private static final int WARM_UP = 20_000;
+	private static final int ITERATIONS = 50_000;
+
+	private ObjectMapper objectMapper;
+	private JavaType entryType;
+	private CacheEntry<List<ProductHomeDTO>> entry;
+
+	@BeforeEach
+	void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		entryType = objectMapper.getTypeFactory().constructType(
+			new TypeReference<CacheEntry<List<ProductHomeDTO>>>() {});
+
+		List<ProductHomeDTO> items = new ArrayList<>();
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			items.add(new ProductHomeDTO((long)i, "public/images/" + UUID.randomUUID() + ".png",
+				"상품" + i, 1000 * i, LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(i)));
+		}
+		entry = CacheEntry.of(items, 12, Duration.ofHours(1));
+	}
+
+	@Test
+	@DisplayName("캐시 codec 크기/속도 비교")
+	void compareCodecs() throws Exception {
+		String legacyJson = objectMapper.writeValueAsString(entry);
+		TypeReference<CacheEntry<List<ProductHomeDTO>>> typeRef = new TypeReference<>() {};
+
+		Result legacy = measure("legacy-json-string", legacyJson.getBytes().length,
+			() -> objectMapper.writeValueAsString(entry),
+			() -> objectMapper.readValue(legacyJson, typeRef));
+
+		Result json = measureSerializer("json", Integer.MAX_VALUE);
+		Result smile = measureSerializer("smile", Integer.MAX_VALUE);
+		Result smileCompressed = measureSerializer("smile", 0);
+
+		for (Result r : List.of(legacy, json, smile, smileCompressed)) {
+			log.info("{} bytes={} encode={}ns/op decode={}ns/op", r.name(), r.bytes(), r.encodeNs(), r.decodeNs());
+		}
+		assertThat(smile.bytes()).isLessThan(legacy.bytes());
+	}
+
+	private Result measureSerializer(String codec, int compressThreshold) throws Exception {
+		CacheValueSerializer serializer = serializer(codec, compressThreshold);
+		byte[] bytes = serializer.serialize(entry);
+
+		CacheEntry<List<ProductHomeDTO>> decoded = serializer.deserialize(bytes, entryType);
+		assertThat(decoded.value()).hasSize(ITEM_COUNT);
+
+		String name = codec + (compressThreshold == 0 ? "+deflate" : "");
+		return measure(name, bytes.length,
+			() -> serializer.serialize(entry),
+			() -> serializer.deserialize(bytes, entryType));
+	}
+
+	private CacheValueSerializer serializer(String codec, int compressThreshold) {
+		JsonCacheCodec jsonCodec = new JsonCacheCodec(objectMapper);
+		CacheValueSerializer serializer = new CacheValueSerializer(
+			List.of(jsonCodec, new SmileCacheCodec(objectMapper)), jsonCodec);
+		ReflectionTestUtils.setField(serializer, "writeCodecName", codec);
+		ReflectionTestUtils.setField(serializer, "compressThresholdBytes", compressThreshold);
+		ReflectionTestUtils.invokeMethod(serializer, "init");
+		return serializer;
+	}
+
+	private Result measure(String name, int bytes, Task encode, Task decode) throws Exception {
+		for (int i = 0; i < WARM_UP; i++) {
+			encode.run();
+			decode.run();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			encode.run();
+		}
+		long encodeNs = (System.nanoTime() - start) / ITERATIONS;
+
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			decode.run();
+		}
+		long decodeNs = (System.nanoTime() - start) / ITERATIONS;
+
+		return new Result(name, bytes, encodeNs, decodeNs);
+	}
+
+	@FunctionalInterface
+	private interface Task {
+		Object run() throws Exception;
+	}
+
+	private record Result(String name, int bytes, long encodeNs, long decodeNs) {}
+}
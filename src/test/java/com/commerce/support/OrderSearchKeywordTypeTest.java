@@ -0,0 +1,23 @@
+package com.commerce.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.commerce.common.enums.OrderSearchKeywordType;
+
+class OrderSearchKeywordTypeTest {
+
+	@Test
+	@DisplayName("주문번호, 전화번호 뒷자리, 그 외 텍스트 분류")
+	void classify() {
+		assertThat(OrderSearchKeywordType.classify("0001234567890123456")).isEqualTo(OrderSearchKeywordType.ORDER_NUMBER);
+		assertThat(OrderSearchKeywordType.classify("3f2a9c0d4b5e6f708192a3b4c5d6e7f8")).isEqualTo(OrderSearchKeywordType.ORDER_NUMBER);
+		assertThat(OrderSearchKeywordType.classify("5678")).isEqualTo(OrderSearchKeywordType.PHONE_SUFFIX);
+		assertThat(OrderSearchKeywordType.classify(" 010-1234-5678 ")).isEqualTo(OrderSearchKeywordType.PHONE_SUFFIX);
+		assertThat(OrderSearchKeywordType.classify("123")).isEqualTo(OrderSearchKeywordType.TEXT);
+		assertThat(OrderSearchKeywordType.classify("123456789012")).isEqualTo(OrderSearchKeywordType.TEXT);
+		assertThat(OrderSearchKeywordType.classify("홍길동")).isEqualTo(OrderSearchKeywordType.TEXT);
+	}
+}
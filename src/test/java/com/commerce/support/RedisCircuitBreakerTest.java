@@ -0,0 +1,82 @@
+package com.commerce.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.commerce.common.support.RedisCircuitBreaker;
+import com.commerce.common.support.RedisCircuitBreaker.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RedisCircuitBreakerTest {
+
+	private RedisCircuitBreaker circuitBreaker;
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		circuitBreaker = new RedisCircuitBreaker(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 3);
+		ReflectionTestUtils.setField(circuitBreaker, "openDurationMs", 300L);
+	}
+
+	@Test
+	@DisplayName("연속 실패 시 OPEN 되어 Redis 를 호출하지 않고, 대기 후 probe 성공하면 CLOSED 로 복구")
+	void openAndRecover() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			assertThat(circuitBreaker.call(this::fail, () -> "fallback")).isEqualTo("fallback");
+		}
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+
+		// OPEN 중에는 호출하지 않음
+		assertThat(circuitBreaker.call(this::fail, () -> "fallback")).isEqualTo("fallback");
+		assertThat(calls.get()).isEqualTo(3);
+
+		Thread.sleep(350);
+		assertThat(circuitBreaker.call(() -> "redis", () -> "fallback")).isEqualTo("redis");
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	@DisplayName("HALF_OPEN probe 가 실패하면 다시 OPEN")
+	void probeFailureReopens() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			circuitBreaker.call(this::fail, () -> "fallback");
+		}
+		Thread.sleep(350);
+
+		circuitBreaker.call(this::fail, () -> "fallback");
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.isOpen()).isTrue();
+	}
+
+	@Test
+	@DisplayName("HALF_OPEN probe 가 Redis 외 예외를 던져도 HALF_OPEN 에 묶이지 않고 다음 probe 가 가능")
+	void probeNonRedisExceptionReleasesHalfOpen() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			circuitBreaker.call(this::fail, () -> "fallback");
+		}
+		Thread.sleep(350);
+
+		assertThatThrownBy(() -> circuitBreaker.call(() -> {
+			throw new IllegalStateException("serialize error");
+		}, () -> "fallback")).isInstanceOf(IllegalStateException.class);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+
+		Thread.sleep(350);
+		assertThat(circuitBreaker.call(() -> "redis", () -> "fallback")).isEqualTo("redis");
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	private String fail() {
+		calls.incrementAndGet();
+		throw new RedisConnectionFailureException("down");
+	}
+}
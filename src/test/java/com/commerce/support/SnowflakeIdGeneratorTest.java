@@ -0,0 +1,88 @@
+package com.commerce.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.commerce.common.support.id.SnowflakeIdGenerator;
+
+class SnowflakeIdGeneratorTest {
+
+	@Test
+	@DisplayName("여러 스레드에서 생성해도 중복 없고, 한 스레드 안에서는 증가")
+	void uniqueAndMonotonic() throws InterruptedException {
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+		int threads = 8;
+		int perThread = 20_000;
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		CountDownLatch done = new CountDownLatch(threads);
+		AtomicLong notIncreasing = new AtomicLong();
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			pool.submit(() -> {
+				long prev = -1;
+				for (int i = 0; i < perThread; i++) {
+					long id = generator.nextId();
+					if (id <= prev) notIncreasing.incrementAndGet();
+					prev = id;
+					ids.add(id);
+				}
+				done.countDown();
+			});
+		}
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		pool.shutdown();
+
+		assertThat(ids).hasSize(threads * perThread);
+		assertThat(notIncreasing.get()).isZero();
+	}
+
+	@Test
+	@DisplayName("같은 ms 의 sequence 를 다 쓰면 다음 ms 로 넘어가고, 노드 ID 와 시각이 ID 에 담긴다")
+	void sequenceOverflowAndLayout() {
+		long base = SnowflakeIdGenerator.EPOCH + 1_000;
+		AtomicLong calls = new AtomicLong();
+		// 4096 번째 호출까지는 같은 ms, 이후 1ms 증가
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7,
+			() -> calls.incrementAndGet() <= 4097 ? base : base + 1);
+
+		List<Long> ids = IntStream.range(0, 4097).mapToObj(i -> generator.nextId()).toList();
+
+		assertThat(SnowflakeIdGenerator.timestampOf(ids.get(0))).isEqualTo(base);
+		assertThat(SnowflakeIdGenerator.timestampOf(ids.get(4095))).isEqualTo(base);
+		assertThat(SnowflakeIdGenerator.timestampOf(ids.get(4096))).isEqualTo(base + 1);
+		assertThat(ids).allMatch(id -> SnowflakeIdGenerator.nodeIdOf(id) == 7);
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	@DisplayName("시계가 크게 뒤로 가면 ID 를 만들지 않는다")
+	void clockMovedBackwards() {
+		long base = SnowflakeIdGenerator.EPOCH + 1_000;
+		AtomicLong now = new AtomicLong(base);
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, now::get);
+		generator.nextId();
+
+		now.set(base - 1_000);
+		assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("노드 ID 범위 검증")
+	void invalidNodeId() {
+		assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}